@@ -2,8 +2,10 @@ package ru.taskmanagment;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class TaskmanagmentApplication {
 	public static void main(String[] args) {
 		SpringApplication.run(TaskmanagmentApplication.class, args);
@@ -0,0 +1,44 @@
+package ru.taskmanagment.config.datasource;
+
+/**
+ * Per-request read-your-writes state for {@link ReplicaRoutingDataSource}. Inside a request,
+ * read-only transactions stop going to the replica once the request has written anything, or
+ * from the start when the client asked for {@code X-Read-Consistency: strong}. Threads outside
+ * a request (schedulers, relays, async exports) carry no state and are routed by transaction
+ * type alone.
+ */
+public final class ReadConsistency {
+    private static final ThreadLocal<State> REQUEST = new ThreadLocal<>();
+
+    private ReadConsistency() {
+    }
+
+    public static boolean isPrimaryRequired() {
+        State state = REQUEST.get();
+        return state != null && state.primaryRequired;
+    }
+
+    /**
+     * Sends the rest of the current request to the primary. Has no effect outside a request.
+     */
+    public static void requirePrimary() {
+        State state = REQUEST.get();
+        if (state != null) {
+            state.primaryRequired = true;
+        }
+    }
+
+    static void begin(boolean strong) {
+        State state = new State();
+        state.primaryRequired = strong;
+        REQUEST.set(state);
+    }
+
+    static void end() {
+        REQUEST.remove();
+    }
+
+    private static final class State {
+        private boolean primaryRequired;
+    }
+}
@@ -0,0 +1,27 @@
+package ru.taskmanagment.config.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+public class ReadConsistencyFilter extends OncePerRequestFilter {
+    public static final String HEADER = "X-Read-Consistency";
+    private static final String STRONG = "strong";
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+        ReadConsistency.begin(STRONG.equalsIgnoreCase(request.getHeader(HEADER)));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReadConsistency.end();
+        }
+    }
+}
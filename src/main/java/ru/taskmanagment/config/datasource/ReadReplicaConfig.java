@@ -0,0 +1,75 @@
+package ru.taskmanagment.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Active once {@code datasource.replica.url} is set. The primary pool is still configured from
+ * {@code spring.datasource}, the replica pool from {@code datasource.replica}, and the
+ * application sees one routing data source on top of both. Without a replica URL Boot's single
+ * auto-configured pool is used as before.
+ */
+@Configuration
+@ConditionalOnProperty("datasource.replica.url")
+public class ReadReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @ConfigurationProperties("datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(DataSourceProperties properties,
+                                              @Value("${datasource.replica.url}") String url,
+                                              @Value("${datasource.replica.username:${spring.datasource.username:}}") String username,
+                                              @Value("${datasource.replica.password:${spring.datasource.password:}}") String password) {
+        return DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(properties.determineDriverClassName())
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("replicaDataSource") DataSource replica,
+                                               @Value("${datasource.replica.lag-query:}") String lagQuery,
+                                               @Value("${datasource.replica.max-lag:10s}") Duration maxLag) {
+        return new ReplicaLagMonitor(replica, lagQuery, maxLag);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica,
+                                 ReplicaLagMonitor lagMonitor) {
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(lagMonitor);
+        routing.setTargetDataSources(Map.of(
+                ReplicaRoutingDataSource.Route.PRIMARY, primary,
+                ReplicaRoutingDataSource.Route.REPLICA, replica));
+        routing.setDefaultTargetDataSource(primary);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    @Bean
+    public ReadConsistencyFilter readConsistencyFilter() {
+        return new ReadConsistencyFilter();
+    }
+}
@@ -0,0 +1,63 @@
+package ru.taskmanagment.config.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+/**
+ * Bounds how stale replica reads can be. The replica is polled with {@code lagQuery}, which must
+ * return its replay lag in seconds (NULL counts as caught up); while the lag exceeds
+ * {@code maxLag}, or the replica cannot be reached, read-only transactions fall back to the
+ * primary. Without a lag query only connectivity is checked.
+ */
+public class ReplicaLagMonitor {
+    private static final int VALIDATION_TIMEOUT_SEC = 1;
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private final DataSource replica;
+    private final String lagQuery;
+    private final Duration maxLag;
+    private volatile boolean replicaUsable = true;
+
+    public ReplicaLagMonitor(DataSource replica, String lagQuery, Duration maxLag) {
+        this.replica = replica;
+        this.lagQuery = lagQuery;
+        this.maxLag = maxLag;
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.replica.lag-check-interval:5000}")
+    public void check() {
+        boolean usable;
+        try (Connection connection = replica.getConnection()) {
+            usable = lagQuery.isBlank()
+                    ? connection.isValid(VALIDATION_TIMEOUT_SEC)
+                    : lagSeconds(connection) * 1000 <= maxLag.toMillis();
+        } catch (SQLException e) {
+            logger.debug("Replica check failed", e);
+            usable = false;
+        }
+        if (usable != replicaUsable) {
+            logger.warn(usable ? "Replica is back within {}, resuming replica reads"
+                    : "Replica is unavailable or lagging beyond {}, reading from primary", maxLag);
+        }
+        replicaUsable = usable;
+    }
+
+    private double lagSeconds(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(lagQuery)) {
+            return resultSet.next() ? resultSet.getDouble(1) : 0;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package ru.taskmanagment.config.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Routes read-only transactions to the replica and everything else to the primary. The key is
+ * taken when a connection is first used, so this must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}; otherwise the
+ * connection is fetched before the transaction's read-only flag is known.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+    private final ReplicaLagMonitor lagMonitor;
+
+    public ReplicaRoutingDataSource(ReplicaLagMonitor lagMonitor) {
+        this.lagMonitor = lagMonitor;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                ReadConsistency.requirePrimary();
+            }
+            return Route.PRIMARY;
+        }
+        return ReadConsistency.isPrimaryRequired() || !lagMonitor.isReplicaUsable() ? Route.PRIMARY : Route.REPLICA;
+    }
+
+    public enum Route {
+        PRIMARY,
+        REPLICA
+    }
+}
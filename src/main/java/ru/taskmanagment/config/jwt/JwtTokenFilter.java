@@ -1,6 +1,7 @@
 package ru.taskmanagment.config.jwt;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -13,7 +14,6 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
-import ru.taskmanagment.payload.rs.UserAuth;
 
 import java.io.IOException;
 
@@ -21,9 +21,11 @@ import java.io.IOException;
 public class JwtTokenFilter extends OncePerRequestFilter {
 
     private final JwtTokenUtil jwtTokenUtil;
+    private final TokenRevocationList tokenRevocationList;
 
-    public JwtTokenFilter(JwtTokenUtil jwtTokenUtil) {
+    public JwtTokenFilter(JwtTokenUtil jwtTokenUtil, TokenRevocationList tokenRevocationList) {
         this.jwtTokenUtil = jwtTokenUtil;
+        this.tokenRevocationList = tokenRevocationList;
     }
 
     @Override
@@ -33,26 +35,34 @@ public class JwtTokenFilter extends OncePerRequestFilter {
             FilterChain filterChain) throws ServletException, IOException {
         if (!hasAuthorizationBearer(request)) {
             filterChain.doFilter(request, response);
+            return;
         }
         String token = getAccessToken(request);
+        Claims claims;
         try {
-            if (!jwtTokenUtil.validateAccessToken(token)) {
-                if (!response.isCommitted()) {
-                    response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Invalid JWT token");
-                }
-                return;
+            claims = jwtTokenUtil.verifyAccessToken(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            if (!response.isCommitted()) {
+                response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Invalid JWT token");
             }
+            return;
         } catch (Exception e) {
             if (!response.isCommitted()) {
                 response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Error processing JWT token");
             }
             return;
         }
-        setAuthenticationContext(token, request);
+        if (tokenRevocationList.isRevoked(claims.get(JwtTokenUtil.USER_ID_CLAIM, Long.class), claims.getIssuedAt())) {
+            if (!response.isCommitted()) {
+                response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "JWT token has been revoked");
+            }
+            return;
+        }
+        setAuthenticationContext(claims, request);
         filterChain.doFilter(request, response);
     }
-    public void setAuthenticationContext(String token, HttpServletRequest request) {
-        UserDetails userDetails = getUserDetails(token);
+    public void setAuthenticationContext(Claims claims, HttpServletRequest request) {
+        UserDetails userDetails = getUserDetails(claims);
 
         UsernamePasswordAuthenticationToken authenticationToken =
                 new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
@@ -60,15 +70,8 @@ public class JwtTokenFilter extends OncePerRequestFilter {
         SecurityContextHolder.getContext().setAuthentication(authenticationToken);
     }
 
-    private UserDetails getUserDetails(String token) {
-        Claims claims = jwtTokenUtil.parseClaims(token);
-        String subject = claims.getSubject();
-        String textRoles = (String) claims.get("roles");
-        String[] roles = textRoles.split(", ");
-        if (subject == null || subject.isEmpty()) {
-            throw new IllegalStateException("JWT token does not contain a valid subject");
-        }
-        return new UserAuth(subject);
+    private UserDetails getUserDetails(Claims claims) {
+        return jwtTokenUtil.toUserAuth(claims);
     }
 
     private boolean hasAuthorizationBearer(HttpServletRequest request) {
@@ -1,11 +1,18 @@
 package ru.taskmanagment.config.jwt;
 
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Component;
 import ru.taskmanagment.payload.rs.UserAuth;
 import ru.taskmanagment.util.AppProperties;
@@ -13,21 +20,59 @@ import ru.taskmanagment.util.Constant;
 
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
 import java.util.Base64;
+import java.util.Collection;
 import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
+/**
+ * Issues and verifies access tokens. The parser is built once and shared, as jjwt parsers are
+ * immutable and thread-safe. Tokens that passed verification are remembered by their SHA-256
+ * digest until they expire, so a client repeating the same bearer token pays for one hash
+ * instead of decoding, parsing and re-checking the signature on every request.
+ * <p>
+ * Tokens carry the user id ({@code uid}) and the role names without their {@code ROLE_} prefix
+ * ({@code roles}, comma separated), so authorization needs no user lookup. Every distinct
+ * {@code roles} value maps to one shared, immutable authority list.
+ */
 @Component
 public class JwtTokenUtil {
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String ROLES_CLAIM = "roles";
+    private static final String ROLE_PREFIX = "ROLE_";
+
     private final SecretKey secretKey;
+    private final JwtParser jwtParser;
+    private final Cache<String, Claims> verifiedTokens;
+    private final Map<String, List<GrantedAuthority>> authorities = new ConcurrentHashMap<>();
 
-    public JwtTokenUtil(AppProperties appProperties) {
+    public JwtTokenUtil(AppProperties appProperties,
+                        @Value("${security.jwt.token.cache-size:10000}") long cacheSize) {
         byte[] base64EncodeKey = Base64.getEncoder().encode(appProperties.getPlainSecretKey().getBytes());
         this.secretKey = Keys.hmacShaKeyFor(base64EncodeKey);
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(secretKey)
+                .build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfter(new UntilExpiration())
+                .build();
     }
 
     public String generateAccessToken(UserAuth userAuth) {
         return Jwts.builder()
                 .setSubject(userAuth.getEmail())
+                .claim(USER_ID_CLAIM, userAuth.getId())
+                .claim(ROLES_CLAIM, rolesClaim(userAuth.getAuthorities()))
                 .setIssuer("@luthfipun")
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + Constant.JWT_TOKEN_EXPIRED))
@@ -37,24 +82,87 @@ public class JwtTokenUtil {
 
     public boolean validateAccessToken(String token) {
         try {
-            Claims claims = parseClaims(token);
-            return !claims.getExpiration().before(new Date());
+            verifyAccessToken(token);
+            return true;
         } catch (JwtException | IllegalArgumentException e) {
             return false;
         }
     }
 
+    /**
+     * Returns the claims of a token whose signature and expiry have been checked, either now or
+     * by an earlier call. The returned claims are shared and must not be modified.
+     */
+    public Claims verifyAccessToken(String token) {
+        String hash = tokenHash(token);
+        Claims claims = verifiedTokens.getIfPresent(hash);
+        if (claims == null) {
+            claims = parseClaims(token);
+            if (claims.getExpiration() != null) {
+                verifiedTokens.put(hash, claims);
+            }
+        }
+        return claims;
+    }
+
+    public UserAuth toUserAuth(Claims claims) {
+        String subject = claims.getSubject();
+        if (subject == null || subject.isEmpty()) {
+            throw new IllegalStateException("JWT token does not contain a valid subject");
+        }
+        String roles = claims.get(ROLES_CLAIM, String.class);
+        return new UserAuth(claims.get(USER_ID_CLAIM, Long.class), subject,
+                roles == null || roles.isEmpty() ? List.of() : authorities.computeIfAbsent(roles, JwtTokenUtil::parseRoles));
+    }
+
     public Claims parseClaims(String token) {
         try {
-            return Jwts.parserBuilder()
-                    .setSigningKey(secretKey)
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
+            return jwtParser.parseClaimsJws(token).getBody();
         } catch (JwtException | IllegalArgumentException e) {
             throw new JwtException("Invalid or expired JWT token", e);
         }
     }
 
+    private static String rolesClaim(Collection<? extends GrantedAuthority> grantedAuthorities) {
+        return grantedAuthorities.stream()
+                .map(GrantedAuthority::getAuthority)
+                .map(authority -> authority.startsWith(ROLE_PREFIX) ? authority.substring(ROLE_PREFIX.length()) : authority)
+                .sorted()
+                .collect(Collectors.joining(","));
+    }
 
-}
\ No newline at end of file
+    private static List<GrantedAuthority> parseRoles(String roles) {
+        return Arrays.stream(roles.split(","))
+                .map(role -> (GrantedAuthority) new SimpleGrantedAuthority(ROLE_PREFIX + role))
+                .toList();
+    }
+
+    private static String tokenHash(String token) {
+        if (token == null) {
+            throw new IllegalArgumentException("JWT token is missing");
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static final class UntilExpiration implements Expiry<String, Claims> {
+        @Override
+        public long expireAfterCreate(String hash, Claims claims, long currentTime) {
+            return Math.max(0, Duration.between(Instant.now(), claims.getExpiration().toInstant()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String hash, Claims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(hash, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String hash, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package ru.taskmanagment.config.jwt;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.taskmanagment.entity.TokenRevocation;
+import ru.taskmanagment.repository.TokenRevocationRepository;
+import ru.taskmanagment.util.Constant;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+
+/**
+ * Users whose earlier access tokens must be refused, typically because their roles changed.
+ * Requests are checked against memory only. Revocations are also written to
+ * {@code token_revocation} and polled from there, so every instance picks up another's within
+ * the refresh interval. An entry is only kept as long as a token issued before it can still be
+ * valid.
+ */
+@Component
+public class TokenRevocationList {
+    private static final Duration TOKEN_LIFETIME = Duration.ofMillis(Constant.JWT_TOKEN_EXPIRED);
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationList.class);
+
+    private final TokenRevocationRepository tokenRevocationRepository;
+    private final Cache<Long, Instant> revocations = Caffeine.newBuilder()
+            .expireAfterWrite(TOKEN_LIFETIME)
+            .build();
+
+    public TokenRevocationList(TokenRevocationRepository tokenRevocationRepository) {
+        this.tokenRevocationRepository = tokenRevocationRepository;
+    }
+
+    public void revoke(Long userId) {
+        Instant now = Instant.now();
+        tokenRevocationRepository.save(new TokenRevocation(userId, now));
+        revocations.put(userId, now);
+    }
+
+    /**
+     * {@code iat} only has second precision, so a token issued in the same second as the
+     * revocation is treated as issued before it and refused; a re-login one second later is
+     * accepted again.
+     */
+    public boolean isRevoked(Long userId, Date issuedAt) {
+        if (userId == null) {
+            return false;
+        }
+        Instant revokedAt = revocations.getIfPresent(userId);
+        return revokedAt != null && (issuedAt == null || issuedAt.toInstant().getEpochSecond() <= revokedAt.getEpochSecond());
+    }
+
+    @Scheduled(fixedDelayString = "${security.jwt.revocation.refresh-interval:5000}")
+    public void refresh() {
+        Instant cutoff = Instant.now().minus(TOKEN_LIFETIME);
+        try {
+            for (TokenRevocation revocation : tokenRevocationRepository.findByRevokedAtAfter(cutoff)) {
+                Instant known = revocations.getIfPresent(revocation.getUserId());
+                if (known == null || revocation.getRevokedAt().isAfter(known)) {
+                    revocations.put(revocation.getUserId(), revocation.getRevokedAt());
+                }
+            }
+            tokenRevocationRepository.deleteRevokedBefore(cutoff);
+        } catch (RuntimeException e) {
+            logger.warn("Failed to refresh token revocations", e);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package ru.taskmanagment.config.security;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.function.IntToLongFunction;
+
+/**
+ * Picks the BCrypt strength for this node: the highest one whose hash still fits the target
+ * latency, never below {@code minStrength}. Only the minimum strength is timed, each extra round
+ * doubles the cost.
+ */
+public final class BCryptStrengthCalibrator {
+    private static final String SAMPLE = "calibration-sample";
+    private static final int SAMPLES = 3;
+
+    private BCryptStrengthCalibrator() {
+    }
+
+    public static int calibrate(Duration targetLatency, int minStrength, int maxStrength) {
+        return calibrate(targetLatency, minStrength, maxStrength, BCryptStrengthCalibrator::measureNanos);
+    }
+
+    static int calibrate(Duration targetLatency, int minStrength, int maxStrength, IntToLongFunction nanosAtStrength) {
+        long target = targetLatency.toNanos();
+        long cost = nanosAtStrength.applyAsLong(minStrength);
+        int strength = minStrength;
+        while (strength < maxStrength && cost * 2 <= target) {
+            strength++;
+            cost *= 2;
+        }
+        return strength;
+    }
+
+    private static long measureNanos(int strength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+        encoder.encode(SAMPLE);
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            encoder.encode(SAMPLE);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+}
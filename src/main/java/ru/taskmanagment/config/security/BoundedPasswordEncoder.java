@@ -0,0 +1,75 @@
+package ru.taskmanagment.config.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import ru.taskmanagment.exception.PasswordHashingOverloadedException;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Caps how many of the delegate's hashes run at once. A call hashes on the request thread when it
+ * gets a permit within {@code acquireTimeout}, which is meant to be near zero; otherwise it fails
+ * right away with {@link PasswordHashingOverloadedException} (503). A burst of logins is thereby
+ * refused instead of parking servlet threads behind the CPU-bound work.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder {
+    private final PasswordEncoder delegate;
+    private final Semaphore permits;
+    private final Duration acquireTimeout;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejected;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int maxConcurrent, Duration acquireTimeout,
+                                  MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.permits = new Semaphore(maxConcurrent);
+        this.acquireTimeout = acquireTimeout;
+        this.encodeTimer = Timer.builder("password.hash").tag("operation", "encode").register(meterRegistry);
+        this.matchesTimer = Timer.builder("password.hash").tag("operation", "matches").register(meterRegistry);
+        this.rejected = Counter.builder("password.hash.rejected").register(meterRegistry);
+        Gauge.builder("password.hash.active", permits, p -> maxConcurrent - p.availablePermits()).register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return hash(encodeTimer, () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return hash(matchesTimer, () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T hash(Timer timer, Supplier<T> hashing) {
+        try {
+            if (!permits.tryAcquire(acquireTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                throw overloaded();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw overloaded();
+        }
+        try {
+            return timer.record(hashing);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private PasswordHashingOverloadedException overloaded() {
+        rejected.increment();
+        return new PasswordHashingOverloadedException("Authentication is temporarily overloaded, please retry later");
+    }
+}
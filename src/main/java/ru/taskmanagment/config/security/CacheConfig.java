@@ -0,0 +1,28 @@
+package ru.taskmanagment.config.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    public static final String TASKS = "tasks";
+
+    /**
+     * Caches are declared up front so Micrometer binds their hit/miss/eviction meters at startup.
+     * Evictions issued inside a transaction are deferred until it commits, so a concurrent
+     * reader cannot re-populate an entry with the pre-commit row.
+     */
+    @Bean
+    public CacheManager cacheManager(@Value("${cache.tasks.spec:maximumSize=10000,expireAfterWrite=5m}") String tasksSpec) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(TASKS);
+        cacheManager.setCacheSpecification(tasksSpec);
+        cacheManager.setAllowNullValues(false);
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
@@ -0,0 +1,47 @@
+package ru.taskmanagment.config.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.Map;
+
+@Configuration
+public class PasswordEncoderConfig {
+    public static final String BCRYPT_ID = "bcrypt";
+    private static final Logger logger = LoggerFactory.getLogger(PasswordEncoderConfig.class);
+
+    /**
+     * New hashes are written as {@code {bcrypt}<hash>} at the strength calibrated for this node
+     * (or the fixed {@code security.password.bcrypt.strength}). Legacy hashes without a prefix
+     * are verified as BCrypt and reported by {@code upgradeEncoding}, as are BCrypt hashes weaker
+     * than the current strength, so login can rehash them.
+     */
+    @Bean
+    public PasswordEncoder passwordEncoder(@Value("${security.password.bcrypt.strength:0}") int fixedStrength,
+                                           @Value("${security.password.bcrypt.target-latency:50ms}") Duration targetLatency,
+                                           @Value("${security.password.bcrypt.min-strength:10}") int minStrength,
+                                           @Value("${security.password.bcrypt.max-strength:16}") int maxStrength,
+                                           @Value("${security.password.hashing.max-concurrent:0}") int maxConcurrent,
+                                           @Value("${security.password.hashing.acquire-timeout:10ms}") Duration acquireTimeout,
+                                           MeterRegistry meterRegistry) {
+        int strength = fixedStrength > 0
+                ? fixedStrength
+                : BCryptStrengthCalibrator.calibrate(targetLatency, minStrength, maxStrength);
+        logger.info("Hashing passwords with BCrypt strength {}", strength);
+
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(strength);
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(BCRYPT_ID, Map.of(BCRYPT_ID, bcrypt));
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+
+        int permits = maxConcurrent > 0 ? maxConcurrent : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(delegating, permits, acquireTimeout, meterRegistry);
+    }
+}
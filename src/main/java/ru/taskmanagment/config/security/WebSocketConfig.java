@@ -1,9 +1,11 @@
 package ru.taskmanagment.config.security;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.socket.config.annotation.EnableWebSocket;
 import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
 import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+import ru.taskmanagment.controller.TaskFeedController;
 import ru.taskmanagment.controller.WebSocketController;
 
 @Configuration
@@ -11,14 +13,21 @@ import ru.taskmanagment.controller.WebSocketController;
 public class WebSocketConfig implements WebSocketConfigurer {
 
     private final WebSocketController webSocketController;
+    private final TaskFeedController taskFeedController;
+    private final String[] feedAllowedOrigins;
 
-    public WebSocketConfig(WebSocketController webSocketController) {
+    public WebSocketConfig(WebSocketController webSocketController, TaskFeedController taskFeedController,
+                           @Value("${feed.allowed-origins:}") String[] feedAllowedOrigins) {
         this.webSocketController = webSocketController;
+        this.taskFeedController = taskFeedController;
+        this.feedAllowedOrigins = feedAllowedOrigins;
     }
 
     @Override
     public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
         registry.addHandler(webSocketController, "/ws/validate-file")
                 .setAllowedOrigins("*"); // Remplacer "*" par des origines spécifiques en prod
+        registry.addHandler(taskFeedController, "/ws/tasks")
+                .setAllowedOrigins(feedAllowedOrigins);
     }
 }
@@ -2,12 +2,19 @@ package ru.taskmanagment.controller;
 
 import jakarta.annotation.security.RolesAllowed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import ru.taskmanagment.payload.rq.CommentRq;
+import ru.taskmanagment.payload.rs.BulkResultRs;
 import ru.taskmanagment.payload.rs.CommentRs;
+import ru.taskmanagment.service.CommentImportService;
 import ru.taskmanagment.service.CommentService;
+import ru.taskmanagment.util.ETagUtil;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 import static ru.taskmanagment.util.RoleLocal.ADMIN;
@@ -19,6 +26,7 @@ import static ru.taskmanagment.util.RoleLocal.USER;
 public class CommentController {
 
     private final CommentService commentService;
+    private final CommentImportService commentImportService;
 
     @GetMapping
     //@RolesAllowed({USER, ADMIN})
@@ -32,9 +40,14 @@ public class CommentController {
 
     @GetMapping("/{id}")
     //@RolesAllowed(ADMIN)
-    public ResponseEntity<CommentRs> getComment(@PathVariable Long id) {
+    public ResponseEntity<CommentRs> getComment(@PathVariable Long id, WebRequest request) {
+        if (request.checkNotModified(commentService.getCommentETag(id))) {
+            return null;
+        }
         CommentRs commentRs = commentService.getCommentById(id);
-        return ResponseEntity.ok(commentRs);
+        return ResponseEntity.ok()
+                .eTag(ETagUtil.of(commentRs.getVersion()))
+                .body(commentRs);
     }
 
     @PostMapping
@@ -44,6 +57,14 @@ public class CommentController {
         return ResponseEntity.ok(commentRs);
     }
 
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    @RolesAllowed(ADMIN)
+    public ResponseEntity<BulkResultRs> importComments(@RequestParam(required = false) String importId,
+                                                       InputStream body) throws IOException {
+        BulkResultRs result = commentImportService.importComments(body, importId);
+        return ResponseEntity.ok(result);
+    }
+
     @PutMapping("/{id}")
     @RolesAllowed({USER, ADMIN})
     public ResponseEntity<CommentRs> updateComment(@PathVariable Long id, @RequestBody CommentRq commentRq) {
@@ -0,0 +1,27 @@
+package ru.taskmanagment.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import ru.taskmanagment.payload.rs.SearchRs;
+import ru.taskmanagment.service.SearchIndexService;
+
+@RestController
+@RequestMapping("/search")
+@RequiredArgsConstructor
+public class SearchController {
+
+    private final SearchIndexService searchIndexService;
+
+    @GetMapping
+    //@RolesAllowed({USER, ADMIN})
+    public ResponseEntity<SearchRs> search(@RequestParam String q,
+                                           @RequestParam(required = false) Integer page,
+                                           @RequestParam(required = false) Integer size) {
+        SearchRs result = searchIndexService.search(q, page, size);
+        return ResponseEntity.ok(result);
+    }
+}
@@ -2,12 +2,33 @@ package ru.taskmanagment.controller;
 
 import jakarta.annotation.security.RolesAllowed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.taskmanagment.payload.rq.TaskFilterRq;
+import ru.taskmanagment.payload.rq.TaskPatchRq;
 import ru.taskmanagment.payload.rq.TaskRq;
+import ru.taskmanagment.payload.rq.TaskTransitionRq;
+import ru.taskmanagment.payload.rs.BulkResultRs;
+import ru.taskmanagment.payload.rs.CommentRs;
+import ru.taskmanagment.payload.rs.CursorPageRs;
+import ru.taskmanagment.payload.rs.TaskArchiveRs;
 import ru.taskmanagment.payload.rs.TaskRs;
+import ru.taskmanagment.payload.rs.TaskSummaryRs;
+import ru.taskmanagment.payload.rs.TaskTransitionRs;
+import ru.taskmanagment.payload.rs.TaskViewRs;
+import ru.taskmanagment.service.CommentService;
+import ru.taskmanagment.service.TaskArchiveService;
+import ru.taskmanagment.service.TaskImportService;
 import ru.taskmanagment.service.TaskService;
+import ru.taskmanagment.service.TaskSummaryService;
+import ru.taskmanagment.util.ETagUtil;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 import static ru.taskmanagment.util.RoleLocal.ADMIN;
@@ -18,21 +39,67 @@ import static ru.taskmanagment.util.RoleLocal.ADMIN;
 public class TaskController {
 
     private final TaskService taskService;
+    private final TaskImportService taskImportService;
+    private final CommentService commentService;
+    private final TaskArchiveService taskArchiveService;
+    private final TaskSummaryService taskSummaryService;
 
     @GetMapping
     //@RolesAllowed({USER,ADMIN})
-    public ResponseEntity<List<TaskRs>> getAllTasks() {
-        List<TaskRs> tasks = taskService.getAllTasks().stream()
-                .map(TaskRs::toTaskRs)
-                .toList();
+    public ResponseEntity<CursorPageRs<TaskViewRs>> getAllTasks(@RequestParam(required = false) String cursor,
+                                                                @RequestParam(required = false) Integer size,
+                                                                TaskFilterRq filter) {
+        CursorPageRs<TaskViewRs> tasks = taskService.getTaskPage(cursor, size, filter);
         return ResponseEntity.ok(tasks);
     }
 
+    @GetMapping("/summary")
+    //@RolesAllowed({USER,ADMIN})
+    public ResponseEntity<TaskSummaryRs> getTaskSummary(@RequestParam Long userId) {
+        TaskSummaryRs summary = taskSummaryService.getSummary(userId);
+        return ResponseEntity.ok(summary);
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportTasks() {
+        StreamingResponseBody body = taskService::exportTasks;
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     @GetMapping("/{id}")
     @RolesAllowed(ADMIN)
-    public ResponseEntity<TaskRs> getTask(@PathVariable Long id) {
-        TaskRs taskRs = taskService.getTaskById(id);
-        return ResponseEntity.ok(taskRs);
+    public ResponseEntity<TaskViewRs> getTask(@PathVariable Long id,
+                                              @RequestParam(defaultValue = "false") boolean includeArchived,
+                                              WebRequest request) {
+        if (includeArchived && taskArchiveService.isArchived(id)) {
+            TaskViewRs archivedTask = taskArchiveService.getTaskView(id);
+            String eTag = TaskService.eTagOf(archivedTask);
+            if (request.checkNotModified(eTag)) {
+                return null;
+            }
+            return ResponseEntity.ok()
+                    .eTag(eTag)
+                    .body(archivedTask);
+        }
+        if (request.checkNotModified(taskService.getTaskETag(id))) {
+            return null;
+        }
+        TaskViewRs taskViewRs = taskService.getTaskView(id);
+        return ResponseEntity.ok()
+                .eTag(TaskService.eTagOf(taskViewRs))
+                .body(taskViewRs);
+    }
+
+    @GetMapping("/{id}/comments")
+    //@RolesAllowed({USER,ADMIN})
+    public ResponseEntity<CursorPageRs<CommentRs>> getTaskComments(@PathVariable Long id,
+                                                                   @RequestParam(required = false) String cursor,
+                                                                   @RequestParam(required = false) Integer size,
+                                                                   @RequestParam(defaultValue = "false") boolean includeArchived) {
+        CursorPageRs<CommentRs> comments = commentService.getTaskComments(id, cursor, size, includeArchived);
+        return ResponseEntity.ok(comments);
     }
 
     @PostMapping
@@ -42,6 +109,34 @@ public class TaskController {
         return ResponseEntity.status(201).body(taskRs);
     }
 
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    //@RolesAllowed({USER, ADMIN})
+    public ResponseEntity<BulkResultRs> createTasks(@RequestBody List<TaskRq> taskRqs) {
+        BulkResultRs result = taskImportService.importTasks(taskRqs);
+        return ResponseEntity.ok(result);
+    }
+
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    //@RolesAllowed({USER, ADMIN})
+    public ResponseEntity<BulkResultRs> importTasks(InputStream body) throws IOException {
+        BulkResultRs result = taskImportService.importTasks(body);
+        return ResponseEntity.ok(result);
+    }
+
+    @PostMapping("/bulk/transition")
+    @RolesAllowed(ADMIN)
+    public ResponseEntity<TaskTransitionRs> transitionTasks(@RequestBody TaskTransitionRq transitionRq) {
+        TaskTransitionRs result = taskService.transitionTasks(transitionRq);
+        return ResponseEntity.ok(result);
+    }
+
+    @PostMapping("/archive")
+    @RolesAllowed(ADMIN)
+    public ResponseEntity<TaskArchiveRs> archiveTasks() {
+        int archived = taskArchiveService.archiveCompletedTasks();
+        return ResponseEntity.ok(new TaskArchiveRs(archived));
+    }
+
     @PutMapping("/{id}")
     @RolesAllowed(ADMIN)
     public ResponseEntity<TaskRs> updateTask(@PathVariable Long id, @RequestBody TaskRq taskRq) {
@@ -49,6 +144,17 @@ public class TaskController {
         return ResponseEntity.ok(updatedTask);
     }
 
+    @PatchMapping("/{id}")
+    @RolesAllowed(ADMIN)
+    public ResponseEntity<TaskViewRs> patchTask(@PathVariable Long id,
+                                                @RequestHeader(HttpHeaders.IF_MATCH) String ifMatch,
+                                                @RequestBody TaskPatchRq patchRq) {
+        TaskViewRs patchedTask = taskService.patchTask(id, ETagUtil.parseIfMatch(ifMatch), patchRq);
+        return ResponseEntity.ok()
+                .eTag(TaskService.eTagOf(patchedTask))
+                .body(patchedTask);
+    }
+
     @DeleteMapping("/{id}")
     @RolesAllowed(ADMIN)
     public ResponseEntity<String> deleteTask(@PathVariable Long id) {
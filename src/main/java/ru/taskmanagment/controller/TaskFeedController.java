@@ -0,0 +1,191 @@
+package ru.taskmanagment.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+import org.springframework.web.util.UriComponentsBuilder;
+import ru.taskmanagment.enumClass.TaskEventType;
+import ru.taskmanagment.payload.rq.TaskFeedFilterRq;
+import ru.taskmanagment.payload.rs.TaskEventRs;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Task change feed on {@code /ws/tasks}. A subscriber may narrow the feed with {@code userId}
+ * and {@code taskId} query parameters, or later by sending a {@link TaskFeedFilterRq}; events
+ * that do not carry the filtered field are always delivered.
+ * <p>
+ * Events arrive from the {@link ru.taskmanagment.service.OutboxRelay} of this instance after their
+ * transaction has committed, whichever instance wrote them. Every subscriber has its own bounded
+ * queue drained on the shared executor, so a slow connection never holds up the writer or the
+ * other subscribers. Repeated events for the same task or comment are coalesced in the queue;
+ * when it still overflows, the backlog is dropped and replaced by a single {@code RESYNC}.
+ */
+@Component
+@RequiredArgsConstructor
+public class TaskFeedController extends TextWebSocketHandler {
+    private static final int QUEUE_CAPACITY = 256;
+    private static final int SEND_TIME_LIMIT_MS = 10_000;
+    private static final int SEND_BUFFER_SIZE_LIMIT = 64 * 1024;
+    private static final Logger logger = LoggerFactory.getLogger(TaskFeedController.class);
+
+    private final ObjectMapper objectMapper;
+    private final TaskExecutor taskExecutor;
+    private final Map<String, Subscriber> subscribers = new ConcurrentHashMap<>();
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) {
+        TaskFeedFilterRq filter = new TaskFeedFilterRq();
+        if (session.getUri() != null) {
+            MultiValueMap<String, String> params = UriComponentsBuilder.fromUri(session.getUri()).build().getQueryParams();
+            filter.setUserId(parseId(params.getFirst("userId")));
+            filter.setTaskId(parseId(params.getFirst("taskId")));
+        }
+        subscribers.put(session.getId(), new Subscriber(
+                new ConcurrentWebSocketSessionDecorator(session, SEND_TIME_LIMIT_MS, SEND_BUFFER_SIZE_LIMIT), filter));
+    }
+
+    @Override
+    public void handleTextMessage(WebSocketSession session, TextMessage message) throws IOException {
+        Subscriber subscriber = subscribers.get(session.getId());
+        if (subscriber != null) {
+            subscriber.filter = objectMapper.readValue(message.getPayload(), TaskFeedFilterRq.class);
+        }
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        subscribers.remove(session.getId());
+    }
+
+    @EventListener
+    public void onTaskEvent(TaskEventRs event) {
+        for (Subscriber subscriber : subscribers.values()) {
+            if (subscriber.matches(event) && subscriber.offer(event)) {
+                taskExecutor.execute(subscriber::drain);
+            }
+        }
+    }
+
+    private static Long parseId(String value) {
+        try {
+            return value == null ? null : Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static String coalesceKey(TaskEventRs event) {
+        if (event.getCommentId() != null) {
+            return "comment:" + event.getCommentId();
+        }
+        if (event.getTaskId() != null) {
+            return "task:" + event.getTaskId();
+        }
+        return event.getType() + ":" + event.getUserId();
+    }
+
+    private static TaskEventRs merge(TaskEventRs pending, TaskEventRs next) {
+        boolean created = pending.getType() == TaskEventType.TASK_CREATED || pending.getType() == TaskEventType.COMMENT_CREATED;
+        boolean updated = next.getType() == TaskEventType.TASK_UPDATED || next.getType() == TaskEventType.COMMENT_UPDATED;
+        return created && updated ? pending : next;
+    }
+
+    private final class Subscriber {
+        private final WebSocketSession session;
+        private final LinkedHashMap<String, TaskEventRs> queue = new LinkedHashMap<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile TaskFeedFilterRq filter;
+
+        private Subscriber(WebSocketSession session, TaskFeedFilterRq filter) {
+            this.session = session;
+            this.filter = filter;
+        }
+
+        private boolean matches(TaskEventRs event) {
+            TaskFeedFilterRq current = filter;
+            return (current.getUserId() == null || event.getUserId() == null || current.getUserId().equals(event.getUserId()))
+                    && (current.getTaskId() == null || event.getTaskId() == null || current.getTaskId().equals(event.getTaskId()));
+        }
+
+        /**
+         * Queues the event and reports whether a drain has to be scheduled for it.
+         */
+        private boolean offer(TaskEventRs event) {
+            synchronized (queue) {
+                String key = coalesceKey(event);
+                TaskEventRs pending = queue.get(key);
+                if (pending != null) {
+                    queue.put(key, merge(pending, event));
+                } else if (queue.size() < QUEUE_CAPACITY) {
+                    queue.put(key, event);
+                } else {
+                    queue.clear();
+                    queue.put(TaskEventType.RESYNC.name(), TaskEventRs.resync());
+                }
+            }
+            return draining.compareAndSet(false, true);
+        }
+
+        private void drain() {
+            do {
+                for (TaskEventRs event : poll()) {
+                    if (!send(event)) {
+                        return;
+                    }
+                }
+                draining.set(false);
+            } while (!isEmpty() && draining.compareAndSet(false, true));
+        }
+
+        private List<TaskEventRs> poll() {
+            synchronized (queue) {
+                List<TaskEventRs> events = new ArrayList<>(queue.values());
+                queue.clear();
+                return events;
+            }
+        }
+
+        private boolean isEmpty() {
+            synchronized (queue) {
+                return queue.isEmpty();
+            }
+        }
+
+        private boolean send(TaskEventRs event) {
+            try {
+                session.sendMessage(new TextMessage(objectMapper.writeValueAsString(event)));
+                return true;
+            } catch (IOException | RuntimeException e) {
+                logger.debug("Dropping task feed subscriber {}", session.getId(), e);
+                subscribers.remove(session.getId());
+                close();
+                return false;
+            }
+        }
+
+        private void close() {
+            try {
+                session.close(CloseStatus.SESSION_NOT_RELIABLE);
+            } catch (IOException e) {
+                logger.debug("Failed to close task feed session {}", session.getId(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package ru.taskmanagment.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * A one-time data migration of {@link ru.taskmanagment.seed.SchemaMigrator} that has completed
+ * and is skipped from then on.
+ */
+@Entity
+@Table(name = "applied_migration")
+@Data
+@NoArgsConstructor
+public class AppliedMigration {
+    @Id
+    @Column(name = "id", length = 100)
+    private String id;
+    @Column(name = "applied_at", nullable = false)
+    private Instant appliedAt;
+}
@@ -0,0 +1,25 @@
+package ru.taskmanagment.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ru.taskmanagment.util.ContentHashUtil;
+
+@Entity
+@Table(name = "comment_archive", indexes = @Index(name = "idx_comment_archive_task_id", columnList = "task_id, id"))
+@Data
+@NoArgsConstructor
+public class ArchivedComment {
+    @Id
+    private Long id;
+    @Column(name = "user_id")
+    private Long userId;
+    @Column(name = "task_id")
+    private Long taskId;
+    @Column(name = "content", nullable = false)
+    private String content;
+    @Column(name = "content_hash", length = ContentHashUtil.LENGTH)
+    private byte[] contentHash;
+    @Column(name = "version", nullable = false)
+    private Long version;
+}
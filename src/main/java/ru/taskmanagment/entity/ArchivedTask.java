@@ -0,0 +1,48 @@
+package ru.taskmanagment.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ru.taskmanagment.enumClass.Priority;
+import ru.taskmanagment.enumClass.Status;
+
+import java.time.LocalDateTime;
+
+/**
+ * Completed task moved out of the hot {@code task} table by {@link ru.taskmanagment.service.TaskArchiveService}.
+ * Keeps the original id, so archived and live tasks can be listed together.
+ */
+@Entity
+@Table(name = "task_archive", indexes = @Index(name = "idx_task_archive_user", columnList = "user_id, id"))
+@Data
+@NoArgsConstructor
+public class ArchivedTask {
+    @Id
+    private Long id;
+    @Column(name = "user_id")
+    private Long userId;
+    @Column(name = "title", nullable = false)
+    private String title;
+    @Column(name = "description", nullable = false)
+    private String description;
+    @Column(name = "status", nullable = false)
+    @Enumerated(EnumType.STRING)
+    private Status status;
+    @Column(name = "priority", nullable = false)
+    @Enumerated(EnumType.STRING)
+    private Priority priority;
+    @Column(name = "status_rank")
+    private Integer statusRank;
+    @Column(name = "priority_rank")
+    private Integer priorityRank;
+    @Column(name = "version", nullable = false)
+    private Long version;
+    @Column(name = "comment_count", nullable = false)
+    private Long commentCount;
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+}
@@ -4,20 +4,34 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+import ru.taskmanagment.util.Constant;
+import ru.taskmanagment.util.ContentHashUtil;
 
 @Entity
+@Table(indexes = @Index(name = "idx_comment_task_id", columnList = "task_id, id"),
+        uniqueConstraints = @UniqueConstraint(name = Comment.CONTENT_HASH_UNIQUE, columnNames = "content_hash"))
 @Data
 @RequiredArgsConstructor
 public class Comment {
+    public static final String CONTENT_HASH_UNIQUE = "uk_comment_content_hash";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "comment_seq")
+    @SequenceGenerator(name = "comment_seq", sequenceName = "comment_seq", allocationSize = Constant.ID_ALLOCATION_SIZE)
     private Long id;
     @Column(name = "user_id")
     private Long userId;
     @Column(name = "task_id")
     private Long taskId;
-    @Column(name = "content", nullable = false, unique = true)
+    @Column(name = "content", nullable = false)
     private String content;
+    @Column(name = "content_hash", length = ContentHashUtil.LENGTH)
+    private byte[] contentHash;
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private Long version;
     @ManyToOne(fetch = FetchType.LAZY)
     @JsonIgnore
     @JoinColumn(name = "task_id", updatable = false, insertable = false)
@@ -26,4 +40,10 @@ public class Comment {
     @JsonIgnore
     @JoinColumn(name = "user_id", updatable = false, insertable = false)
     private User user;
+
+    @PrePersist
+    @PreUpdate
+    void hashContent() {
+        contentHash = ContentHashUtil.of(content);
+    }
 }
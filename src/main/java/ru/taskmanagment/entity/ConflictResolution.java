@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import lombok.Data;
 import lombok.Getter;
 import lombok.Setter;
+import ru.taskmanagment.util.Constant;
 import java.time.LocalDateTime;
 
 @Entity
@@ -14,7 +15,8 @@ import java.time.LocalDateTime;
 public class ConflictResolution {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "conflict_resolution_seq")
+    @SequenceGenerator(name = "conflict_resolution_seq", sequenceName = "conflict_resolution_seq", allocationSize = Constant.ID_ALLOCATION_SIZE)
     private Long id;
     @Column(name = "file_path", columnDefinition = "TEXT")
     private String filePath;
@@ -0,0 +1,34 @@
+package ru.taskmanagment.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Progress of a resumable bulk import: every input line up to and including {@code lastLine}
+ * has been committed or reported as failed.
+ */
+@Entity
+@Table(name = "import_checkpoint")
+@Data
+@NoArgsConstructor
+public class ImportCheckpoint {
+    @Id
+    @Column(name = "import_id", length = 100)
+    private String importId;
+    @Column(name = "last_line", nullable = false)
+    private long lastLine;
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    public ImportCheckpoint(String importId, long lastLine) {
+        this.importId = importId;
+        this.lastLine = lastLine;
+        this.updatedAt = Instant.now();
+    }
+}
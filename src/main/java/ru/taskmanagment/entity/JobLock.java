@@ -0,0 +1,28 @@
+package ru.taskmanagment.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Lease on a scheduled job shared by all instances: the job is held by {@code lockedBy} until
+ * {@code lockedUntil}, after which any instance may take it over.
+ */
+@Entity
+@Table(name = "job_lock")
+@Data
+@NoArgsConstructor
+public class JobLock {
+    @Id
+    @Column(name = "name", length = 100)
+    private String name;
+    @Column(name = "locked_until", nullable = false)
+    private Instant lockedUntil;
+    @Column(name = "locked_by", nullable = false, length = 100)
+    private String lockedBy;
+}
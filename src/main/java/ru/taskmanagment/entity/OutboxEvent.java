@@ -0,0 +1,54 @@
+package ru.taskmanagment.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ru.taskmanagment.enumClass.TaskEventType;
+import ru.taskmanagment.payload.rs.TaskEventRs;
+import ru.taskmanagment.util.Constant;
+
+import java.time.Instant;
+
+/**
+ * A task event written in the same transaction as the change it describes, read by the
+ * {@link ru.taskmanagment.service.OutboxRelay} of every instance and purged after the retention
+ * period. Ids are not pooled: each one is a {@code nextval} taken by the writing transaction, so
+ * ids of one task follow commit order across instances.
+ */
+@Entity
+@Table(name = "outbox_event", indexes = @Index(name = "idx_outbox_event_created_at", columnList = "created_at"))
+@Data
+@NoArgsConstructor
+public class OutboxEvent {
+    public static final String SEQUENCE = "outbox_seq";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = SEQUENCE)
+    @SequenceGenerator(name = SEQUENCE, sequenceName = SEQUENCE, allocationSize = Constant.OUTBOX_ID_ALLOCATION_SIZE)
+    private Long id;
+    @Column(name = "type", nullable = false)
+    @Enumerated(EnumType.STRING)
+    private TaskEventType type;
+    @Column(name = "task_id")
+    private Long taskId;
+    @Column(name = "comment_id")
+    private Long commentId;
+    @Column(name = "user_id")
+    private Long userId;
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    public static OutboxEvent of(TaskEventRs event) {
+        OutboxEvent outboxEvent = new OutboxEvent();
+        outboxEvent.setType(event.getType());
+        outboxEvent.setTaskId(event.getTaskId());
+        outboxEvent.setCommentId(event.getCommentId());
+        outboxEvent.setUserId(event.getUserId());
+        outboxEvent.setCreatedAt(Instant.now());
+        return outboxEvent;
+    }
+
+    public TaskEventRs toTaskEventRs() {
+        return new TaskEventRs(type, taskId, commentId, userId);
+    }
+}
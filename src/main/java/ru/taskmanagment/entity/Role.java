@@ -3,6 +3,7 @@ package ru.taskmanagment.entity;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Data;
+import ru.taskmanagment.util.Constant;
 
 import java.util.List;
 
@@ -11,7 +12,8 @@ import java.util.List;
 @Data
 public class Role {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "role_seq")
+    @SequenceGenerator(name = "role_seq", sequenceName = "role_seq", allocationSize = Constant.ID_ALLOCATION_SIZE)
     private Long id = null;
 
     @Column(name = "authority", nullable = false)
@@ -4,18 +4,30 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
 import ru.taskmanagment.enumClass.Priority;
 import ru.taskmanagment.enumClass.Status;
+import ru.taskmanagment.util.Constant;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_task_user", columnList = "user_id, id"),
+        @Index(name = "idx_task_user_status_priority_rank", columnList = "user_id, status_rank, priority_rank, id"),
+        @Index(name = "idx_task_status_priority_rank", columnList = "status_rank, priority_rank, id"),
+        @Index(name = "idx_task_completed_at", columnList = "completed_at")
+})
 @Data
+@DynamicUpdate
 @RequiredArgsConstructor
 public class Task {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_seq")
+    @SequenceGenerator(name = "task_seq", sequenceName = "task_seq", allocationSize = Constant.ID_ALLOCATION_SIZE)
     private Long id;
     @Column(name="user_id")
     private Long userId;
@@ -29,6 +41,29 @@ public class Task {
     @Column(name = "priority", nullable = false)
     @Enumerated(EnumType.STRING)
     private Priority priority;
+    /**
+     * Ordinals of {@link #status} and {@link #priority}, kept in step on every write, so that
+     * filtering and keyset sorting happen in declaration order instead of by name.
+     */
+    @Column(name = "status_rank")
+    private Integer statusRank;
+    @Column(name = "priority_rank")
+    private Integer priorityRank;
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private Long version;
+    @ColumnDefault("0")
+    @Column(name = "comment_count", nullable = false)
+    private Long commentCount = 0L;
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    /**
+     * When the task last moved to {@link Status#COMPLETED}; cleared when it leaves that status.
+     * Unlike {@link #updatedAt} it does not move on later edits, so archiving keys off it.
+     */
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
     @ManyToOne(fetch = FetchType.LAZY)
     @JsonIgnore
     @JoinColumn(name = "user_id", updatable = false, insertable = false)
@@ -37,4 +72,16 @@ public class Task {
     @OneToMany(mappedBy = "task", fetch = FetchType.LAZY, cascade = CascadeType.ALL)
     private List<Comment> comments = new ArrayList<>();
 
+    @PrePersist
+    @PreUpdate
+    void touch() {
+        updatedAt = LocalDateTime.now();
+        if (status != Status.COMPLETED) {
+            completedAt = null;
+        } else if (completedAt == null) {
+            completedAt = updatedAt;
+        }
+        statusRank = status == null ? null : status.ordinal();
+        priorityRank = priority == null ? null : priority.ordinal();
+    }
 }
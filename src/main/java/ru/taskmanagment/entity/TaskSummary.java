@@ -0,0 +1,50 @@
+package ru.taskmanagment.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ru.taskmanagment.enumClass.Priority;
+import ru.taskmanagment.enumClass.Status;
+
+import java.io.Serializable;
+
+/**
+ * Number of live tasks a user has per status and priority. Rows are adjusted in the same
+ * transaction as the task change and can be recomputed from the task table at any time.
+ */
+@Entity
+@Table(name = "task_summary")
+@IdClass(TaskSummary.Key.class)
+@Data
+@NoArgsConstructor
+public class TaskSummary {
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+    @Id
+    @Column(name = "status", length = 32)
+    @Enumerated(EnumType.STRING)
+    private Status status;
+    @Id
+    @Column(name = "priority", length = 32)
+    @Enumerated(EnumType.STRING)
+    private Priority priority;
+    @Column(name = "task_count", nullable = false)
+    private long taskCount;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long userId;
+        private Status status;
+        private Priority priority;
+    }
+}
@@ -0,0 +1,27 @@
+package ru.taskmanagment.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Access tokens of the user issued before {@code revokedAt} are no longer accepted.
+ */
+@Entity
+@Table(name = "token_revocation")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenRevocation {
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+    @Column(name = "revoked_at", nullable = false)
+    private Instant revokedAt;
+}
@@ -8,8 +8,10 @@ import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.validator.constraints.Length;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import ru.taskmanagment.payload.rs.UserAuth;
 import ru.taskmanagment.payload.rs.UserRs;
+import ru.taskmanagment.util.Constant;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -23,7 +25,8 @@ import java.util.Set;
 @Table(name = "user_table")
 public class User {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_seq")
+    @SequenceGenerator(name = "user_seq", sequenceName = "user_seq", allocationSize = Constant.ID_ALLOCATION_SIZE)
     private Long id;
     @Column(name = "name", nullable = false)
     private String name;
@@ -62,10 +65,15 @@ public class User {
     }
 
     public UserAuth toUserAuth() {
-        return new UserAuth(
+        UserAuth userAuth = new UserAuth(
                 this.email,
                 this.password
         );
+        userAuth.setId(this.id);
+        userAuth.setAuthorities(this.roles.stream()
+                .map(role -> new SimpleGrantedAuthority(role.getAuthority()))
+                .toList());
+        return userAuth;
     }
 
     public UserRs toUserRs() {
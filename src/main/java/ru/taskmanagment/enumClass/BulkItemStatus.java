@@ -0,0 +1,5 @@
+package ru.taskmanagment.enumClass;
+
+public enum BulkItemStatus {
+    CREATED, FAILED
+}
@@ -1,5 +1,8 @@
 package ru.taskmanagment.enumClass;
 
+/**
+ * Declared from most to least urgent; the ordinal is stored as {@code priority_rank} and is the sort order.
+ */
 public enum Priority {
     HIGH, MEDIUM, LOW
 }
@@ -1,5 +1,8 @@
 package ru.taskmanagment.enumClass;
 
+/**
+ * Declared in workflow order; the ordinal is stored as {@code status_rank} and is the sort order.
+ */
 public enum Status {
     PENDING, IN_PROGRESS, COMPLETED
 }
@@ -0,0 +1,7 @@
+package ru.taskmanagment.enumClass;
+
+public enum TaskEventType {
+    TASK_CREATED, TASK_UPDATED, TASK_DELETED, TASK_ARCHIVED, TASKS_TRANSITIONED,
+    COMMENT_CREATED, COMMENT_UPDATED, COMMENT_DELETED,
+    RESYNC
+}
@@ -0,0 +1,15 @@
+package ru.taskmanagment.enumClass;
+
+public enum TaskSort {
+    ID("id"), STATUS("statusRank"), PRIORITY("priorityRank");
+
+    private final String attribute;
+
+    TaskSort(String attribute) {
+        this.attribute = attribute;
+    }
+
+    public String getAttribute() {
+        return attribute;
+    }
+}
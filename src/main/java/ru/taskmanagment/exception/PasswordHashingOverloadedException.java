@@ -0,0 +1,11 @@
+package ru.taskmanagment.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class PasswordHashingOverloadedException extends RuntimeException {
+    public PasswordHashingOverloadedException(String message) {
+        super(message);
+    }
+}
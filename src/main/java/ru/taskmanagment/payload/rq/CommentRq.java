@@ -1,12 +1,20 @@
 package ru.taskmanagment.payload.rq;
 
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 import ru.taskmanagment.entity.Comment;
 
 @Data
+@NoArgsConstructor
 public class CommentRq {
     private Long userId;
+    @NotNull(message = "Task id is required")
     private Long taskId;
+    @NotBlank(message = "Content must not be blank")
+    @Size(max = 255, message = "Content must be at most 255 characters")
     private String content;
 
     public CommentRq(Long userId, Long taskId, String content) {
@@ -0,0 +1,9 @@
+package ru.taskmanagment.payload.rq;
+
+import lombok.Data;
+
+@Data
+public class TaskFeedFilterRq {
+    private Long userId;
+    private Long taskId;
+}
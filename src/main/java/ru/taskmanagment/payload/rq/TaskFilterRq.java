@@ -0,0 +1,17 @@
+package ru.taskmanagment.payload.rq;
+
+import lombok.Data;
+import org.springframework.data.domain.Sort;
+import ru.taskmanagment.enumClass.Priority;
+import ru.taskmanagment.enumClass.Status;
+import ru.taskmanagment.enumClass.TaskSort;
+
+@Data
+public class TaskFilterRq {
+    private Long userId;
+    private Status status;
+    private Priority priority;
+    private TaskSort sort = TaskSort.ID;
+    private Sort.Direction direction = Sort.Direction.ASC;
+    private boolean includeArchived;
+}
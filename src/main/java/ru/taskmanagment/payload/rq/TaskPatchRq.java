@@ -0,0 +1,16 @@
+package ru.taskmanagment.payload.rq;
+
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+import ru.taskmanagment.enumClass.Priority;
+import ru.taskmanagment.enumClass.Status;
+
+@Data
+public class TaskPatchRq {
+    @Size(min = 3, max = 255, message = "Title must be between 3 and 255 characters")
+    private String title;
+    @Size(min = 5, max = 500, message = "Description must be between 5 and 500 characters")
+    private String description;
+    private Status status;
+    private Priority priority;
+}
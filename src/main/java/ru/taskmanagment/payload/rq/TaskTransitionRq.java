@@ -0,0 +1,38 @@
+package ru.taskmanagment.payload.rq;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+import ru.taskmanagment.enumClass.Priority;
+import ru.taskmanagment.enumClass.Status;
+
+import java.util.List;
+
+@Data
+public class TaskTransitionRq {
+    @Size(max = 10000, message = "At most 10000 ids can be transitioned at once")
+    private List<Long> ids;
+    private Long userId;
+    private Status fromStatus;
+    private Priority fromPriority;
+    private Status status;
+    private Priority priority;
+
+    @JsonIgnore
+    public boolean hasIds() {
+        return ids != null && !ids.isEmpty();
+    }
+
+    @JsonIgnore
+    @AssertTrue(message = "Either ids or at least one filter (userId, fromStatus, fromPriority) is required")
+    public boolean isTargeted() {
+        return hasIds() || userId != null || fromStatus != null || fromPriority != null;
+    }
+
+    @JsonIgnore
+    @AssertTrue(message = "Target status or priority is required")
+    public boolean isTransition() {
+        return status != null || priority != null;
+    }
+}
@@ -0,0 +1,24 @@
+package ru.taskmanagment.payload.rs;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ru.taskmanagment.enumClass.BulkItemStatus;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkItemRs {
+    private long index;
+    private Long id;
+    private BulkItemStatus status;
+    private String error;
+
+    public static BulkItemRs created(long index, Long id) {
+        return new BulkItemRs(index, id, BulkItemStatus.CREATED, null);
+    }
+
+    public static BulkItemRs failed(long index, String error) {
+        return new BulkItemRs(index, null, BulkItemStatus.FAILED, error);
+    }
+}
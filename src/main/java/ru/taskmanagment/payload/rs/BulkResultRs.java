@@ -0,0 +1,34 @@
+package ru.taskmanagment.payload.rs;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+@Data
+public class BulkResultRs {
+    private long created;
+    private long failed;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long checkpoint;
+    private List<BulkItemRs> items = new ArrayList<>();
+
+    public void add(BulkItemRs item) {
+        switch (item.getStatus()) {
+            case CREATED -> created++;
+            case FAILED -> failed++;
+        }
+        items.add(item);
+    }
+
+    /**
+     * Items rejected while reading are added before the rest of their chunk is written, so the
+     * result is put back into input order once the import is done.
+     */
+    public BulkResultRs sortByIndex() {
+        items.sort(Comparator.comparingLong(BulkItemRs::getIndex));
+        return this;
+    }
+}
@@ -9,6 +9,7 @@ public class CommentRs {
     private Long userId;
     private Long taskId;
     private String content;
+    private Long version;
 
     public CommentRs() {
 
@@ -18,10 +19,21 @@ public class CommentRs {
         this.content = content;
     }
 
+    public CommentRs(Long id, Long userId, Long taskId, String content, Long version) {
+        this.id = id;
+        this.userId = userId;
+        this.taskId = taskId;
+        this.content = content;
+        this.version = version;
+    }
+
     public static CommentRs toCommentRs(Comment comment) {
         CommentRs commentRs = new CommentRs();
-        commentRs.setId(commentRs.getId());
+        commentRs.setId(comment.getId());
+        commentRs.setUserId(comment.getUserId());
+        commentRs.setTaskId(comment.getTaskId());
         commentRs.setContent(comment.getContent());
+        commentRs.setVersion(comment.getVersion());
         return commentRs;
     }
 
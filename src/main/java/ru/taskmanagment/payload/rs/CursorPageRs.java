@@ -0,0 +1,15 @@
+package ru.taskmanagment.payload.rs;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CursorPageRs<T> {
+    private List<T> items;
+    private String nextCursor;
+}
@@ -0,0 +1,16 @@
+package ru.taskmanagment.payload.rs;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SearchHitRs {
+    private String type;
+    private Long id;
+    private Long taskId;
+    private String title;
+    private float score;
+}
@@ -0,0 +1,17 @@
+package ru.taskmanagment.payload.rs;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SearchRs {
+    private long total;
+    private int page;
+    private int size;
+    private List<SearchHitRs> hits;
+}
@@ -0,0 +1,12 @@
+package ru.taskmanagment.payload.rs;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TaskArchiveRs {
+    private int archived;
+}
@@ -0,0 +1,44 @@
+package ru.taskmanagment.payload.rs;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ru.taskmanagment.entity.Comment;
+import ru.taskmanagment.entity.Task;
+import ru.taskmanagment.enumClass.TaskEventType;
+
+/**
+ * Change notification for the task feed. It identifies what changed, not the new state;
+ * subscribers re-read the resource when they need it.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TaskEventRs {
+    private TaskEventType type;
+    private Long taskId;
+    private Long commentId;
+    private Long userId;
+
+    public static TaskEventRs of(TaskEventType type, Task task) {
+        return new TaskEventRs(type, task.getId(), null, task.getUserId());
+    }
+
+    /**
+     * Comment events carry the owner of the commented task, so a feed filtered by user sees
+     * the comments on that user's tasks.
+     */
+    public static TaskEventRs of(TaskEventType type, Comment comment, Long taskOwnerId) {
+        return new TaskEventRs(type, comment.getTaskId(), comment.getId(), taskOwnerId);
+    }
+
+    public static TaskEventRs transitioned(Long userId) {
+        return new TaskEventRs(TaskEventType.TASKS_TRANSITIONED, null, null, userId);
+    }
+
+    public static TaskEventRs resync() {
+        return new TaskEventRs(TaskEventType.RESYNC, null, null, null);
+    }
+}
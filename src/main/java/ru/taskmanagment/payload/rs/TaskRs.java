@@ -1,13 +1,10 @@
 package ru.taskmanagment.payload.rs;
 
 import lombok.Data;
-import ru.taskmanagment.entity.Comment;
 import ru.taskmanagment.entity.Task;
 import ru.taskmanagment.enumClass.Priority;
 import ru.taskmanagment.enumClass.Status;
 
-import java.util.List;
-
 @Data
 public class TaskRs {
 
@@ -17,14 +14,14 @@ public class TaskRs {
     private String description;
     private Status status;
     private Priority priority;
-    private List<Comment> comments;
+    private Long commentCount;
 
     public static TaskRs toTaskRs(Task task) {
         TaskRs taskRs = new TaskRs();
         taskRs.setId(task.getId());
         taskRs.setTitle(task.getTitle());
         taskRs.setUserId(task.getUserId());
-        taskRs.setComments(task.getComments());
+        taskRs.setCommentCount(task.getCommentCount());
         taskRs.setPriority(task.getPriority());
         taskRs.setDescription(task.getDescription());
         taskRs.setStatus(task.getStatus());
@@ -37,7 +34,6 @@ public class TaskRs {
         task.setTitle(getTitle());
         task.setPriority(getPriority());
         task.setStatus(getStatus());
-        task.setComments(getComments());
         task.setDescription(getDescription());
         return task;
     }
@@ -0,0 +1,25 @@
+package ru.taskmanagment.payload.rs;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ru.taskmanagment.enumClass.Priority;
+import ru.taskmanagment.enumClass.Status;
+
+/**
+ * Read model for task list and detail endpoints. Built directly by JPQL constructor
+ * expressions, so the comments collection is never initialized; only its size is exposed.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TaskViewRs {
+    private Long id;
+    private String title;
+    private Long userId;
+    private String description;
+    private Status status;
+    private Priority priority;
+    private Long version;
+    private Long commentCount;
+}
@@ -12,9 +12,11 @@ import java.util.List;
 
 @Data
 public class UserAuth implements UserDetails {
+    private Long id;
     private String email;
     private String password;
     private List<String> roles;
+    private Collection<? extends GrantedAuthority> authorities = Collections.emptyList();
 
     public UserAuth(@NotBlank String email, @NotBlank String password) {
         this.email = email;
@@ -25,9 +27,15 @@ public class UserAuth implements UserDetails {
         this.email = email;
     }
 
+    public UserAuth(Long id, String email, Collection<? extends GrantedAuthority> authorities) {
+        this.id = id;
+        this.email = email;
+        this.authorities = authorities;
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        return Collections.emptyList();
+        return authorities;
     }
 
     @Override
@@ -0,0 +1,22 @@
+package ru.taskmanagment.repository;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import ru.taskmanagment.entity.ArchivedComment;
+import ru.taskmanagment.payload.rs.CommentRs;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ArchivedCommentRepository extends JpaRepository<ArchivedComment, Long> {
+    @Modifying
+    @Query("INSERT INTO ArchivedComment (id, userId, taskId, content, contentHash, version) " +
+            "SELECT c.id, c.userId, c.taskId, c.content, c.contentHash, c.version FROM Comment c WHERE c.taskId IN :taskIds")
+    int archiveComments(Collection<Long> taskIds);
+
+    @Query("SELECT new ru.taskmanagment.payload.rs.CommentRs(c.id, c.userId, c.taskId, c.content, c.version) " +
+            "FROM ArchivedComment c WHERE c.taskId = :taskId AND c.id > :afterId ORDER BY c.id")
+    List<CommentRs> findPageByTaskId(Long taskId, long afterId, Limit limit);
+}
@@ -0,0 +1,24 @@
+package ru.taskmanagment.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import ru.taskmanagment.entity.ArchivedTask;
+import ru.taskmanagment.payload.rs.TaskViewRs;
+
+import java.util.Collection;
+import java.util.Optional;
+
+public interface ArchivedTaskRepository extends JpaRepository<ArchivedTask, Long> {
+    @Query("SELECT new ru.taskmanagment.payload.rs.TaskViewRs(" +
+            "a.id, a.title, a.userId, a.description, a.status, a.priority, a.version, a.commentCount) " +
+            "FROM ArchivedTask a WHERE a.id = :id")
+    Optional<TaskViewRs> findViewById(Long id);
+
+    @Modifying
+    @Query("INSERT INTO ArchivedTask (id, userId, title, description, status, priority, statusRank, priorityRank, " +
+            "version, commentCount, updatedAt, completedAt, archivedAt) " +
+            "SELECT t.id, t.userId, t.title, t.description, t.status, t.priority, t.statusRank, t.priorityRank, " +
+            "t.version, t.commentCount, t.updatedAt, t.completedAt, LOCAL DATETIME FROM Task t WHERE t.id IN :ids")
+    int archiveTasks(Collection<Long> ids);
+}
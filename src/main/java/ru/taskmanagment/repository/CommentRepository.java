@@ -1,7 +1,42 @@
 package ru.taskmanagment.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import ru.taskmanagment.entity.Comment;
+import ru.taskmanagment.payload.rs.CommentRs;
+import ru.taskmanagment.util.Constant;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
+    String COMMENT_VIEW = "SELECT new ru.taskmanagment.payload.rs.CommentRs(" +
+            "c.id, c.userId, c.taskId, c.content, c.version) FROM Comment c ";
+
+    @Query("SELECT COUNT(c) > 0 FROM Comment c WHERE c.contentHash = :contentHash AND c.id <> :excludedId")
+    boolean existsDuplicate(byte[] contentHash, long excludedId);
+
+    @Query("SELECT c.content FROM Comment c WHERE c.contentHash IN :contentHashes")
+    List<String> findContentByContentHashIn(Collection<byte[]> contentHashes);
+
+    @Query("SELECT c.version FROM Comment c WHERE c.id = :id")
+    Optional<Long> findVersionById(Long id);
+
+    @Query(COMMENT_VIEW + "WHERE c.taskId = :taskId AND c.id > :afterId ORDER BY c.id")
+    List<CommentRs> findPageByTaskId(Long taskId, long afterId, Limit limit);
+
+    @Modifying
+    @Query("DELETE FROM Comment c WHERE c.taskId IN :taskIds")
+    int deleteByTaskIds(Collection<Long> taskIds);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = Constant.EXPORT_FETCH_SIZE))
+    @Query(COMMENT_VIEW + "ORDER BY c.id")
+    Stream<CommentRs> streamAll();
 }
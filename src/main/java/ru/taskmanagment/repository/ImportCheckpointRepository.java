@@ -0,0 +1,7 @@
+package ru.taskmanagment.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import ru.taskmanagment.entity.ImportCheckpoint;
+
+public interface ImportCheckpointRepository extends JpaRepository<ImportCheckpoint, String> {
+}
@@ -0,0 +1,27 @@
+package ru.taskmanagment.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import ru.taskmanagment.entity.JobLock;
+
+import java.time.Instant;
+
+public interface JobLockRepository extends JpaRepository<JobLock, String> {
+    /**
+     * A plain insert rather than {@code save}, which would merge into a row another instance
+     * created meanwhile instead of failing on it.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO job_lock (name, locked_until, locked_by) VALUES (:name, :until, :owner)",
+            nativeQuery = true)
+    int create(String name, String owner, Instant until);
+
+    @Modifying
+    @Query("UPDATE JobLock l SET l.lockedUntil = :until, l.lockedBy = :owner WHERE l.name = :name AND l.lockedUntil <= :now")
+    int claimExpired(String name, String owner, Instant until, Instant now);
+
+    @Modifying
+    @Query("UPDATE JobLock l SET l.lockedUntil = :now WHERE l.name = :name AND l.lockedBy = :owner")
+    int release(String name, String owner, Instant now);
+}
@@ -0,0 +1,25 @@
+package ru.taskmanagment.repository;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import ru.taskmanagment.entity.OutboxEvent;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+    @Query("SELECT e FROM OutboxEvent e WHERE e.id > :after ORDER BY e.id")
+    List<OutboxEvent> findAfter(long after, Limit limit);
+
+    List<OutboxEvent> findByIdInOrderById(Collection<Long> ids);
+
+    @Query("SELECT MAX(e.id) FROM OutboxEvent e")
+    Long findMaxId();
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.createdAt < :before")
+    int deleteCreatedBefore(Instant before);
+}
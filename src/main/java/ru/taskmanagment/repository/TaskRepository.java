@@ -1,7 +1,127 @@
 package ru.taskmanagment.repository;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import ru.taskmanagment.entity.Task;
+import ru.taskmanagment.enumClass.Priority;
+import ru.taskmanagment.enumClass.Status;
+import ru.taskmanagment.payload.rs.TaskViewRs;
+import ru.taskmanagment.util.Constant;
 
-public interface TaskRepository extends JpaRepository<Task, Long> {
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public interface TaskRepository extends JpaRepository<Task, Long>, TaskRepositoryCustom {
+    String TASK_VIEW = "SELECT new ru.taskmanagment.payload.rs.TaskViewRs(" +
+            "t.id, t.title, t.userId, t.description, t.status, t.priority, t.version, t.commentCount) FROM Task t ";
+    String SUMMARY_GROUP = "SELECT t.userId AS userId, t.status AS status, t.priority AS priority, " +
+            "COUNT(t) AS taskCount FROM Task t ";
+
+    @Query(TASK_VIEW + "WHERE t.id = :id")
+    Optional<TaskViewRs> findViewById(Long id);
+
+    @Query("SELECT t.version AS version, t.commentCount AS commentCount FROM Task t WHERE t.id = :id")
+    Optional<VersionView> findVersionById(Long id);
+
+    @Query("SELECT t.userId FROM Task t WHERE t.id = :id")
+    Optional<Long> findUserIdById(Long id);
+
+    @Query("SELECT t.id AS id, t.userId AS userId FROM Task t WHERE t.id IN :ids")
+    List<OwnerView> findOwnersByIds(Collection<Long> ids);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = Constant.EXPORT_FETCH_SIZE))
+    @Query(TASK_VIEW + "ORDER BY t.id")
+    Stream<TaskViewRs> streamAll();
+
+    /**
+     * Locks the tasks a bulk transition will touch, in id order, so their status and priority
+     * cannot change between counting them for the summary and updating them.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t.id FROM Task t WHERE t.id IN :ids ORDER BY t.id")
+    List<Long> lockIdsByIds(Collection<Long> ids);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t.id FROM Task t WHERE (:userId IS NULL OR t.userId = :userId) " +
+            "AND (:fromStatus IS NULL OR t.status = :fromStatus) " +
+            "AND (:fromPriority IS NULL OR t.priority = :fromPriority) " +
+            "ORDER BY t.id")
+    List<Long> lockIdsByFilter(Long userId, Status fromStatus, Priority fromPriority);
+
+    @Query(SUMMARY_GROUP + "WHERE t.id IN :ids GROUP BY t.userId, t.status, t.priority")
+    List<SummaryGroup> countGroupsByIds(Collection<Long> ids);
+
+    @Query(SUMMARY_GROUP + "WHERE t.userId IN :userIds GROUP BY t.userId, t.status, t.priority")
+    List<SummaryGroup> countGroupsByUserIds(Collection<Long> userIds);
+
+    default int transitionByIds(Collection<Long> ids, Status status, Priority priority) {
+        return transitionByIds(ids, status, status == null ? null : status.ordinal(),
+                priority, priority == null ? null : priority.ordinal(), Status.COMPLETED.ordinal());
+    }
+
+    /**
+     * Bulk updates bypass the entity callbacks, so the rank columns and the completion time are
+     * set alongside the enums. A task that is already completed keeps its original completion time.
+     */
+    @Modifying
+    @Query("UPDATE Task t SET t.status = COALESCE(:status, t.status), " +
+            "t.statusRank = COALESCE(:statusRank, t.statusRank), " +
+            "t.priority = COALESCE(:priority, t.priority), " +
+            "t.priorityRank = COALESCE(:priorityRank, t.priorityRank), " +
+            "t.completedAt = CASE WHEN :statusRank IS NULL THEN t.completedAt " +
+            "WHEN :statusRank = :completedRank THEN COALESCE(t.completedAt, LOCAL DATETIME) " +
+            "ELSE NULL END, " +
+            "t.version = t.version + 1, t.updatedAt = LOCAL DATETIME " +
+            "WHERE t.id IN :ids")
+    int transitionByIds(Collection<Long> ids, Status status, Integer statusRank,
+                        Priority priority, Integer priorityRank, int completedRank);
+
+    /**
+     * Moves the denormalized comment counter in the database, so concurrent comment writers
+     * never overwrite each other's increments. The version is left alone on purpose: a new
+     * comment must not make a pending If-Match on the task fail.
+     */
+    @Modifying
+    @Query("UPDATE Task t SET t.commentCount = t.commentCount + :delta WHERE t.id = :id")
+    int adjustCommentCount(Long id, long delta);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Task t WHERE t.status = :status AND t.completedAt < :cutoff ORDER BY t.id")
+    List<Task> findArchivable(Status status, LocalDateTime cutoff, Limit limit);
+
+    @Modifying
+    @Query("DELETE FROM Task t WHERE t.id IN :ids")
+    int deleteByIds(Collection<Long> ids);
+
+    interface VersionView {
+        Long getVersion();
+
+        Long getCommentCount();
+    }
+
+    interface OwnerView {
+        Long getId();
+
+        Long getUserId();
+    }
+
+    interface SummaryGroup {
+        Long getUserId();
+
+        Status getStatus();
+
+        Priority getPriority();
+
+        Long getTaskCount();
+    }
 }
@@ -0,0 +1,11 @@
+package ru.taskmanagment.repository;
+
+import ru.taskmanagment.payload.rq.TaskFilterRq;
+import ru.taskmanagment.payload.rs.TaskViewRs;
+import ru.taskmanagment.util.CursorUtil;
+
+import java.util.List;
+
+public interface TaskRepositoryCustom {
+    List<TaskViewRs> findPage(TaskFilterRq filter, CursorUtil.Position after, int limit);
+}
@@ -0,0 +1,123 @@
+package ru.taskmanagment.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Sort;
+import ru.taskmanagment.entity.ArchivedTask;
+import ru.taskmanagment.entity.Task;
+import ru.taskmanagment.enumClass.Priority;
+import ru.taskmanagment.enumClass.Status;
+import ru.taskmanagment.enumClass.TaskSort;
+import ru.taskmanagment.exception.InvalidCursorException;
+import ru.taskmanagment.payload.rq.TaskFilterRq;
+import ru.taskmanagment.payload.rs.TaskViewRs;
+import ru.taskmanagment.util.CursorUtil;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Keyset pagination over tasks with equality filters on owner, status and priority and an
+ * ordering of (sort column, id). Status and priority are filtered and sorted on their rank
+ * columns, so they order by declaration rather than by name. The indexes on {@link Task} cover
+ * the common shapes, listing by owner and filtering or sorting by status, with or without owner;
+ * rarer combinations sort the rows that pass the filter. With {@code includeArchived} the same
+ * page is read from {@link ArchivedTask} as well, through its single owner index, and the two
+ * are merged in memory.
+ */
+public class TaskRepositoryImpl implements TaskRepositoryCustom {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<TaskViewRs> findPage(TaskFilterRq filter, CursorUtil.Position after, int limit) {
+        List<TaskViewRs> live = findPage(Task.class, filter, after, limit);
+        if (!filter.isIncludeArchived()) {
+            return live;
+        }
+        List<TaskViewRs> merged = new ArrayList<>(live);
+        merged.addAll(findPage(ArchivedTask.class, filter, after, limit));
+        merged.sort(pageOrder(filter));
+        return merged.size() > limit ? merged.subList(0, limit) : merged;
+    }
+
+    /**
+     * Both tables have the same attribute names, so one keyset query serves either of them.
+     */
+    private List<TaskViewRs> findPage(Class<?> entity, TaskFilterRq filter, CursorUtil.Position after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TaskViewRs> query = cb.createQuery(TaskViewRs.class);
+        Root<?> task = query.from(entity);
+
+        query.select(cb.construct(TaskViewRs.class,
+                task.get("id"), task.get("title"), task.get("userId"), task.get("description"),
+                task.get("status"), task.get("priority"), task.get("version"), task.get("commentCount")));
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (filter.getUserId() != null) {
+            predicates.add(cb.equal(task.get("userId"), filter.getUserId()));
+        }
+        if (filter.getStatus() != null) {
+            predicates.add(cb.equal(task.get("statusRank"), filter.getStatus().ordinal()));
+        }
+        if (filter.getPriority() != null) {
+            predicates.add(cb.equal(task.get("priorityRank"), filter.getPriority().ordinal()));
+        }
+
+        boolean ascending = filter.getDirection() != Sort.Direction.DESC;
+        Expression<Long> id = task.get("id");
+        if (filter.getSort() == TaskSort.ID) {
+            if (after != null) {
+                predicates.add(ascending ? cb.greaterThan(id, after.id()) : cb.lessThan(id, after.id()));
+            }
+            query.orderBy(ascending ? cb.asc(id) : cb.desc(id));
+        } else {
+            Expression<Comparable<Object>> sortKey = task.get(filter.getSort().getAttribute());
+            if (after != null) {
+                Comparable<Object> key = parseKey(filter.getSort(), after.key());
+                predicates.add(cb.or(
+                        ascending ? cb.greaterThan(sortKey, key) : cb.lessThan(sortKey, key),
+                        cb.and(cb.equal(sortKey, key),
+                                ascending ? cb.greaterThan(id, after.id()) : cb.lessThan(id, after.id()))));
+            }
+            query.orderBy(ascending ? cb.asc(sortKey) : cb.desc(sortKey), ascending ? cb.asc(id) : cb.desc(id));
+        }
+        query.where(predicates.toArray(new Predicate[0]));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    private static Comparator<TaskViewRs> pageOrder(TaskFilterRq filter) {
+        Comparator<TaskViewRs> byId = Comparator.comparing(TaskViewRs::getId);
+        Comparator<TaskViewRs> order = switch (filter.getSort()) {
+            case ID -> byId;
+            case STATUS -> Comparator.comparing(TaskViewRs::getStatus).thenComparing(byId);
+            case PRIORITY -> Comparator.comparing(TaskViewRs::getPriority).thenComparing(byId);
+        };
+        return filter.getDirection() == Sort.Direction.DESC ? order.reversed() : order;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Comparable<Object> parseKey(TaskSort sort, String key) {
+        if (key == null) {
+            throw new InvalidCursorException("Cursor does not match sort " + sort);
+        }
+        try {
+            return (Comparable<Object>) (Comparable<?>) switch (sort) {
+                case STATUS -> Status.valueOf(key).ordinal();
+                case PRIORITY -> Priority.valueOf(key).ordinal();
+                case ID -> Long.valueOf(key);
+            };
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Cursor does not match sort " + sort);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package ru.taskmanagment.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import ru.taskmanagment.entity.TaskSummary;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface TaskSummaryRepository extends JpaRepository<TaskSummary, TaskSummary.Key>, TaskSummaryRepositoryCustom {
+    List<TaskSummary> findByUserId(Long userId);
+
+    @Modifying
+    @Query("DELETE FROM TaskSummary s WHERE s.userId IN :userIds")
+    int deleteByUserIds(Collection<Long> userIds);
+}
@@ -0,0 +1,7 @@
+package ru.taskmanagment.repository;
+
+import ru.taskmanagment.entity.TaskSummary;
+
+public interface TaskSummaryRepositoryCustom {
+    void adjust(TaskSummary.Key key, long delta);
+}
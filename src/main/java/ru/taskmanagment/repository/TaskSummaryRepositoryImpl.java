@@ -0,0 +1,27 @@
+package ru.taskmanagment.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import ru.taskmanagment.entity.TaskSummary;
+
+/**
+ * Written against the entity manager because Spring Data's query parser does not accept
+ * Hibernate's {@code ON CONFLICT} clause. Hibernate renders the upsert natively on PostgreSQL
+ * and as {@code MERGE} on H2, so concurrent writers never race on inserting the same cell.
+ */
+public class TaskSummaryRepositoryImpl implements TaskSummaryRepositoryCustom {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public void adjust(TaskSummary.Key key, long delta) {
+        entityManager.createQuery("INSERT INTO TaskSummary (userId, status, priority, taskCount) " +
+                        "VALUES (:userId, :status, :priority, :delta) " +
+                        "ON CONFLICT (userId, status, priority) DO UPDATE SET taskCount = taskCount + excluded.taskCount")
+                .setParameter("userId", key.getUserId())
+                .setParameter("status", key.getStatus())
+                .setParameter("priority", key.getPriority())
+                .setParameter("delta", delta)
+                .executeUpdate();
+    }
+}
@@ -0,0 +1,19 @@
+package ru.taskmanagment.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+import ru.taskmanagment.entity.TokenRevocation;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface TokenRevocationRepository extends JpaRepository<TokenRevocation, Long> {
+    List<TokenRevocation> findByRevokedAtAfter(Instant since);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM TokenRevocation r WHERE r.revokedAt < :cutoff")
+    int deleteRevokedBefore(Instant cutoff);
+}
@@ -1,13 +1,41 @@
 package ru.taskmanagment.repository;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 import ru.taskmanagment.entity.User;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     @Query("SELECT u FROM User u WHERE u.email = :email OR u.name = :email")
     Optional<User> findByEmail(String email);
+
+    /**
+     * Same lookup as {@link #findByEmail}, with roles fetched in the same query for building
+     * the authenticated principal.
+     */
+    @Query("SELECT u FROM User u LEFT JOIN FETCH u.roles WHERE u.email = :email OR u.name = :email")
+    Optional<User> findWithRolesByEmail(String email);
+
     Optional<User> findByResetToken(String resetToken);
+
+    /**
+     * Replaces the hash only if it is still {@code previous}, so a rehash on login never
+     * overwrites a password reset that happened meanwhile.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.password = :password WHERE u.id = :id AND u.password = :previous")
+    int replacePassword(Long id, String previous, String password);
+
+    @Query("SELECT u.id FROM User u WHERE u.id IN :ids")
+    List<Long> findExistingIds(Collection<Long> ids);
+
+    @Query("SELECT u.id FROM User u WHERE u.id > :after ORDER BY u.id")
+    List<Long> findIdsAfter(long after, Limit limit);
 }
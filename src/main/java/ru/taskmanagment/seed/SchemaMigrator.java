@@ -0,0 +1,324 @@
+package ru.taskmanagment.seed;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.dialect.sequence.SequenceSupport;
+import org.hibernate.engine.jdbc.Size;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.type.SqlTypes;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.taskmanagment.entity.Comment;
+import ru.taskmanagment.enumClass.Priority;
+import ru.taskmanagment.enumClass.Status;
+import ru.taskmanagment.service.JobLockService;
+import ru.taskmanagment.util.Constant;
+import ru.taskmanagment.util.ContentHashUtil;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Brings an existing schema in line with the entity mappings where {@code ddl-auto: update}
+ * cannot: sequences that replace identity columns are moved past the ids already in use and
+ * kept in step with the allocation size, the full-text unique constraint on comment content is
+ * replaced by a unique, backfilled SHA-256 content hash, tasks that predate {@code updated_at}
+ * are stamped with the migration time so archival ages them from there, the status and priority
+ * rank columns are filled and the indexes they replace are dropped, and an empty
+ * {@code task_summary} is filled from the existing tasks.
+ * <p>
+ * Data migrations that must not run on every start, such as reconciling the denormalized task
+ * comment counters with the comment table or dating completed tasks that predate
+ * {@code completed_at} by their last update, run once through {@link #runOnce}.
+ */
+@Service
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class SchemaMigrator implements CommandLineRunner {
+    private static final List<SequenceMapping> SEQUENCES = List.of(
+            new SequenceMapping("task", "task_seq", Constant.ID_ALLOCATION_SIZE),
+            new SequenceMapping("comment", "comment_seq", Constant.ID_ALLOCATION_SIZE),
+            new SequenceMapping("outbox_event", "outbox_seq", Constant.OUTBOX_ID_ALLOCATION_SIZE),
+            new SequenceMapping("user_table", "user_seq", Constant.ID_ALLOCATION_SIZE),
+            new SequenceMapping("role_table", "role_seq", Constant.ID_ALLOCATION_SIZE),
+            new SequenceMapping("conflict_resolutions", "conflict_resolution_seq", Constant.ID_ALLOCATION_SIZE)
+    );
+    private static final List<String> REPLACED_INDEXES = List.of(
+            "idx_task_user_status_priority", "idx_task_status_priority", "idx_task_priority",
+            "idx_task_archive_user_status_priority", "idx_task_archive_status_priority", "idx_task_archive_priority",
+            "idx_task_user_status_rank", "idx_task_user_priority_rank", "idx_task_user_priority_status_rank",
+            "idx_task_status_rank", "idx_task_priority_rank", "idx_task_priority_status_rank",
+            "idx_task_archive_user_status_rank", "idx_task_archive_user_priority_rank",
+            "idx_task_archive_user_status_priority_rank", "idx_task_archive_user_priority_status_rank",
+            "idx_task_archive_status_rank", "idx_task_archive_priority_rank",
+            "idx_task_archive_status_priority_rank", "idx_task_archive_priority_status_rank",
+            "idx_task_status_updated_at"
+    );
+
+    private static final Duration MIGRATION_LEASE = Duration.ofHours(1);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final TransactionTemplate transactionTemplate;
+    private final JobLockService jobLockService;
+    private static final Logger logger = LoggerFactory.getLogger(SchemaMigrator.class);
+
+    @Override
+    public void run(String... args) {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        SequenceSupport sequenceSupport = sessionFactory.getJdbcServices().getDialect().getSequenceSupport();
+        SEQUENCES.forEach(mapping -> alignSequence(sequenceSupport, mapping));
+        dropUniqueConstraints("comment", "content");
+        String digestType = sessionFactory.getTypeConfiguration().getDdlTypeRegistry()
+                .getTypeName(SqlTypes.VARBINARY, Size.length(ContentHashUtil.LENGTH));
+        widenContentHash("comment", digestType);
+        widenContentHash("comment_archive", digestType);
+        backfillCommentHashes("comment", true);
+        backfillCommentHashes("comment_archive", false);
+        addCommentHashUnique();
+        runOnce("reconcile-comment-counts", this::reconcileCommentCounts);
+        backfillTaskUpdatedAt();
+        runOnce("backfill-completed-at", this::backfillCompletedAt);
+        REPLACED_INDEXES.forEach(index -> jdbcTemplate.execute("DROP INDEX IF EXISTS " + index));
+        backfillRanks("task");
+        backfillRanks("task_archive");
+        backfillTaskSummary();
+    }
+
+    /**
+     * The sequence increment must equal the entity's allocation size, otherwise the pooled-lo
+     * ranges handed out by Hibernate overlap. When the allocation size changes, the increment is
+     * reset together with the restart value, which is taken with the old increment and therefore
+     * lies past every range already handed out.
+     */
+    void alignSequence(SequenceSupport sequenceSupport, SequenceMapping mapping) {
+        String sequence = mapping.sequence();
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + mapping.table(), Long.class);
+        String increment = sequenceIncrement(sequence);
+        boolean resized = increment != null && !String.valueOf(mapping.allocationSize()).equals(increment);
+        if (maxId == null && !resized) {
+            return;
+        }
+        Long next = jdbcTemplate.queryForObject(sequenceSupport.getSequenceNextValString(sequence), Long.class);
+        if (next == null || !resized && next > maxId) {
+            return;
+        }
+        long restart = maxId == null ? next : Math.max(next, maxId + 1);
+        jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " INCREMENT BY " + mapping.allocationSize()
+                + " RESTART WITH " + restart);
+        logger.info("Sequence {} restarted at {} with increment {}, highest {}.id is {}",
+                sequence, restart, mapping.allocationSize(), mapping.table(), maxId);
+    }
+
+    private String sequenceIncrement(String sequence) {
+        List<String> increments = jdbcTemplate.queryForList(
+                "SELECT increment FROM information_schema.sequences " +
+                        "WHERE LOWER(sequence_schema) = LOWER(CURRENT_SCHEMA) AND LOWER(sequence_name) = ?",
+                String.class, sequence);
+        return increments.isEmpty() ? null : increments.get(0);
+    }
+
+    private void dropUniqueConstraints(String table, String column) {
+        List<String> constraints = jdbcTemplate.queryForList(
+                "SELECT tc.constraint_name FROM information_schema.table_constraints tc " +
+                        "JOIN information_schema.key_column_usage kcu " +
+                        "ON kcu.constraint_name = tc.constraint_name AND kcu.table_name = tc.table_name " +
+                        "WHERE tc.constraint_type = 'UNIQUE' " +
+                        "AND LOWER(tc.table_name) = ? AND LOWER(kcu.column_name) = ?",
+                String.class, table, column);
+        for (String constraint : constraints) {
+            jdbcTemplate.execute("ALTER TABLE " + table + " DROP CONSTRAINT " + constraint);
+            logger.info("Dropped unique constraint {} on {}.{}", constraint, table, column);
+        }
+    }
+
+    /**
+     * {@code content_hash} used to hold the leading 64 bits of the digest in a bigint column,
+     * which {@code ddl-auto} does not retype. The column is recreated empty as binary and
+     * filled again by {@link #backfillCommentHashes}.
+     */
+    private void widenContentHash(String table, String digestType) {
+        List<String> types = jdbcTemplate.queryForList(
+                "SELECT data_type FROM information_schema.columns " +
+                        "WHERE LOWER(table_schema) = LOWER(CURRENT_SCHEMA) AND LOWER(table_name) = ? " +
+                        "AND LOWER(column_name) = 'content_hash'",
+                String.class, table);
+        if (types.isEmpty() || !types.get(0).toLowerCase(Locale.ROOT).contains("int")) {
+            return;
+        }
+        dropUniqueConstraints(table, "content_hash");
+        jdbcTemplate.execute("DROP INDEX IF EXISTS idx_" + table + "_content_hash");
+        jdbcTemplate.execute("ALTER TABLE " + table + " DROP COLUMN content_hash");
+        jdbcTemplate.execute("ALTER TABLE " + table + " ADD COLUMN content_hash " + digestType);
+        logger.info("Recreated {}.content_hash as {}", table, digestType);
+    }
+
+    /**
+     * With {@code unique}, a row whose text is already hashed on another row keeps a null hash
+     * instead of failing the backfill; such duplicates predate the unique index.
+     */
+    private void backfillCommentHashes(String table, boolean unique) {
+        String update = "UPDATE " + table + " SET content_hash = ? WHERE id = ?" + (unique
+                ? " AND NOT EXISTS (SELECT 1 FROM " + table + " other WHERE other.content_hash = ?)"
+                : "");
+        List<Object[]> batch = new ArrayList<>(Constant.BULK_CHUNK_SIZE);
+        int[] total = {0};
+        jdbcTemplate.query("SELECT id, content FROM " + table + " WHERE content_hash IS NULL ORDER BY id", rs -> {
+            byte[] hash = ContentHashUtil.of(rs.getString("content"));
+            batch.add(unique ? new Object[]{hash, rs.getLong("id"), hash} : new Object[]{hash, rs.getLong("id")});
+            if (batch.size() >= Constant.BULK_CHUNK_SIZE) {
+                total[0] += updateHashes(update, batch);
+            }
+        });
+        total[0] += updateHashes(update, batch);
+        if (total[0] > 0) {
+            logger.info("Backfilled content_hash for {} rows of {}", total[0], table);
+        }
+    }
+
+    private int updateHashes(String update, List<Object[]> batch) {
+        int updated = 0;
+        if (!batch.isEmpty()) {
+            for (int rows : jdbcTemplate.batchUpdate(update, batch)) {
+                updated += Math.max(rows, 0);
+            }
+            batch.clear();
+        }
+        return updated;
+    }
+
+    private void addCommentHashUnique() {
+        Integer constraints = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.table_constraints tc " +
+                        "JOIN information_schema.key_column_usage kcu " +
+                        "ON kcu.constraint_name = tc.constraint_name AND kcu.table_name = tc.table_name " +
+                        "WHERE tc.constraint_type = 'UNIQUE' " +
+                        "AND LOWER(tc.table_name) = 'comment' AND LOWER(kcu.column_name) = 'content_hash'",
+                Integer.class);
+        if (constraints == null || constraints == 0) {
+            jdbcTemplate.execute("ALTER TABLE comment ADD CONSTRAINT " + Comment.CONTENT_HASH_UNIQUE + " UNIQUE (content_hash)");
+            logger.info("Added unique constraint {} on comment.content_hash", Comment.CONTENT_HASH_UNIQUE);
+        }
+    }
+
+    /**
+     * Runs {@code migration} unless it is recorded in {@code applied_migration}. Only one instance
+     * runs it; the others start without waiting, as a data migration does not change the schema.
+     */
+    private void runOnce(String id, Runnable migration) {
+        String lock = "migration:" + id;
+        if (isApplied(id) || !jobLockService.tryAcquire(lock, MIGRATION_LEASE)) {
+            return;
+        }
+        try {
+            if (!isApplied(id)) {
+                migration.run();
+                jdbcTemplate.update("INSERT INTO applied_migration (id, applied_at) VALUES (?, ?)",
+                        id, Timestamp.from(Instant.now()));
+                logger.info("Applied data migration {}", id);
+            }
+        } finally {
+            jobLockService.release(lock);
+        }
+    }
+
+    private boolean isApplied(String id) {
+        Integer applied = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM applied_migration WHERE id = ?",
+                Integer.class, id);
+        return applied != null && applied > 0;
+    }
+
+    /**
+     * Recounts a batch of tasks per transaction. The tasks are locked before their comments are
+     * counted, so a concurrent {@code adjustCommentCount} either committed before the count and
+     * is part of it, or applies its delta on top of it afterwards.
+     */
+    private void reconcileCommentCounts() {
+        long after = 0;
+        int total = 0;
+        List<Long> ids;
+        do {
+            long from = after;
+            ids = jdbcTemplate.queryForList("SELECT id FROM task WHERE id > ? ORDER BY id LIMIT ?",
+                    Long.class, from, Constant.BULK_CHUNK_SIZE);
+            if (ids.isEmpty()) {
+                break;
+            }
+            long to = ids.get(ids.size() - 1);
+            Integer updated = transactionTemplate.execute(status -> {
+                jdbcTemplate.queryForList("SELECT id FROM task WHERE id > ? AND id <= ? ORDER BY id FOR UPDATE",
+                        Long.class, from, to);
+                return jdbcTemplate.update("UPDATE task t SET comment_count = " +
+                        "(SELECT COUNT(*) FROM comment c WHERE c.task_id = t.id) " +
+                        "WHERE t.id > ? AND t.id <= ? " +
+                        "AND comment_count <> (SELECT COUNT(*) FROM comment c WHERE c.task_id = t.id)", from, to);
+            });
+            total += updated == null ? 0 : updated;
+            after = to;
+        } while (ids.size() == Constant.BULK_CHUNK_SIZE);
+        if (total > 0) {
+            logger.info("Reconciled comment_count for {} tasks", total);
+        }
+    }
+
+    private void backfillTaskUpdatedAt() {
+        int updated = jdbcTemplate.update("UPDATE task SET updated_at = CURRENT_TIMESTAMP WHERE updated_at IS NULL");
+        if (updated > 0) {
+            logger.info("Backfilled updated_at for {} tasks", updated);
+        }
+    }
+
+    private void backfillCompletedAt() {
+        for (String table : List.of("task", "task_archive")) {
+            int updated = jdbcTemplate.update("UPDATE " + table + " SET completed_at = updated_at " +
+                    "WHERE status = ? AND completed_at IS NULL", Status.COMPLETED.name());
+            if (updated > 0) {
+                logger.info("Backfilled completed_at for {} rows of {}", updated, table);
+            }
+        }
+    }
+
+    private void backfillRanks(String table) {
+        int updated = jdbcTemplate.update("UPDATE " + table + " SET " +
+                "status_rank = " + rankCase("status", Status.values()) + ", " +
+                "priority_rank = " + rankCase("priority", Priority.values()) + " " +
+                "WHERE status_rank IS NULL OR priority_rank IS NULL");
+        if (updated > 0) {
+            logger.info("Backfilled status_rank and priority_rank for {} rows of {}", updated, table);
+        }
+    }
+
+    private static String rankCase(String column, Enum<?>[] values) {
+        StringBuilder rank = new StringBuilder("CASE " + column);
+        for (Enum<?> value : values) {
+            rank.append(" WHEN '").append(value.name()).append("' THEN ").append(value.ordinal());
+        }
+        return rank.append(" END").toString();
+    }
+
+    private void backfillTaskSummary() {
+        Integer rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM task_summary", Integer.class);
+        if (rows != null && rows > 0) {
+            return;
+        }
+        int inserted = jdbcTemplate.update("INSERT INTO task_summary (user_id, status, priority, task_count) " +
+                "SELECT user_id, status, priority, COUNT(*) FROM task WHERE user_id IS NOT NULL " +
+                "GROUP BY user_id, status, priority");
+        if (inserted > 0) {
+            logger.info("Backfilled task_summary with {} rows", inserted);
+        }
+    }
+
+    record SequenceMapping(String table, String sequence, int allocationSize) {
+    }
+}
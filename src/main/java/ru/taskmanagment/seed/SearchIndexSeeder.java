@@ -0,0 +1,52 @@
+package ru.taskmanagment.seed;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.taskmanagment.repository.CommentRepository;
+import ru.taskmanagment.repository.TaskRepository;
+import ru.taskmanagment.service.SearchIndexService;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+@Service
+@RequiredArgsConstructor
+public class SearchIndexSeeder implements CommandLineRunner {
+    private final SearchIndexService searchIndexService;
+    private final TaskRepository taskRepository;
+    private final CommentRepository commentRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskExecutor taskExecutor;
+    private static final Logger logger = LoggerFactory.getLogger(SearchIndexSeeder.class);
+
+    @Override
+    public void run(String... args) {
+        if (searchIndexService.needsRebuild()) {
+            taskExecutor.execute(this::rebuild);
+        }
+    }
+
+    /**
+     * Not read-only on purpose: read-only transactions may be routed to a lagging replica, and
+     * the scan must see every change committed before it.
+     */
+    private void rebuild() {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                try {
+                    searchIndexService.rebuild(taskRepository::streamAll, commentRepository::streamAll);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            logger.info("Search index rebuilt");
+        } catch (RuntimeException e) {
+            logger.error("Search index rebuild failed", e);
+        }
+    }
+}
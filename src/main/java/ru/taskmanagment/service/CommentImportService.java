@@ -0,0 +1,201 @@
+package ru.taskmanagment.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolationException;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.taskmanagment.entity.Comment;
+import ru.taskmanagment.entity.ImportCheckpoint;
+import ru.taskmanagment.enumClass.TaskEventType;
+import ru.taskmanagment.payload.rq.CommentRq;
+import ru.taskmanagment.payload.rs.BulkItemRs;
+import ru.taskmanagment.payload.rs.BulkResultRs;
+import ru.taskmanagment.payload.rs.TaskEventRs;
+import ru.taskmanagment.repository.CommentRepository;
+import ru.taskmanagment.repository.ImportCheckpointRepository;
+import ru.taskmanagment.repository.TaskRepository;
+import ru.taskmanagment.repository.UserRepository;
+import ru.taskmanagment.util.Constant;
+import ru.taskmanagment.util.ContentHashUtil;
+import ru.taskmanagment.validation.ValidationUtil;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Streaming NDJSON comment ingest. Lines are validated as they are read and persisted in chunks
+ * of {@link Constant#BULK_CHUNK_SIZE}, one transaction per chunk, with batched inserts over
+ * pooled sequence ids. References and duplicate content are checked once per chunk, so a bad
+ * line is reported on its own instead of failing the whole chunk on a constraint.
+ * <p>
+ * When an import id is given, the index of the last line of each chunk is stored in the same
+ * transaction as the chunk. Re-sending the same body with the same id skips every line up to
+ * that checkpoint, so an interrupted upload resumes where it stopped.
+ */
+@Service
+@RequiredArgsConstructor
+public class CommentImportService {
+    private final CommentRepository commentRepository;
+    private final TaskRepository taskRepository;
+    private final UserRepository userRepository;
+    private final ImportCheckpointRepository importCheckpointRepository;
+    private final TaskService taskService;
+    private final SearchIndexService searchIndexService;
+    private final OutboxService outboxService;
+    private final ValidationUtil validationUtil;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private static final Logger logger = LoggerFactory.getLogger(CommentImportService.class);
+
+    public BulkResultRs importComments(InputStream ndjson, String importId) throws IOException {
+        BulkResultRs result = new BulkResultRs();
+        long resumeAfter = importId == null ? -1 : importCheckpointRepository.findById(importId)
+                .map(ImportCheckpoint::getLastLine)
+                .orElse(-1L);
+        Chunk chunk = new Chunk(importId);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(ndjson, StandardCharsets.UTF_8))) {
+            String line;
+            long index = 0;
+            while ((line = reader.readLine()) != null) {
+                chunk.lastLine = index;
+                if (index > resumeAfter && !line.isBlank()) {
+                    try {
+                        accept(index, objectMapper.readValue(line, CommentRq.class), chunk, result);
+                    } catch (JsonProcessingException e) {
+                        result.add(BulkItemRs.failed(index, "Malformed JSON: " + e.getOriginalMessage()));
+                    }
+                }
+                index++;
+            }
+        }
+        flush(chunk, result);
+        if (importId != null) {
+            result.setCheckpoint(Math.max(chunk.lastLine, resumeAfter));
+        }
+        return result.sortByIndex();
+    }
+
+    private void accept(long index, CommentRq commentRq, Chunk chunk, BulkResultRs result) {
+        try {
+            validationUtil.validate(commentRq);
+        } catch (ConstraintViolationException e) {
+            result.add(BulkItemRs.failed(index, e.getMessage()));
+            return;
+        }
+        chunk.items.add(new PendingComment(index, commentRq.toComment(commentRq)));
+        if (chunk.items.size() >= Constant.BULK_CHUNK_SIZE) {
+            flush(chunk, result);
+        }
+    }
+
+    private void flush(Chunk chunk, BulkResultRs result) {
+        if (chunk.items.isEmpty() && chunk.importId == null) {
+            return;
+        }
+        List<BulkItemRs> outcomes = new ArrayList<>(chunk.items.size());
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                outcomes.clear();
+                Map<Long, Long> taskOwners = findTaskOwners(chunk.items);
+                List<PendingComment> accepted = filter(chunk.items, taskOwners, outcomes);
+                List<Comment> saved = commentRepository.saveAll(accepted.stream().map(PendingComment::comment).toList());
+                if (chunk.importId != null) {
+                    importCheckpointRepository.save(new ImportCheckpoint(chunk.importId, chunk.lastLine));
+                }
+                entityManager.flush();
+                entityManager.clear();
+                saved.stream()
+                        .collect(Collectors.groupingBy(Comment::getTaskId, Collectors.counting()))
+                        .forEach(taskService::adjustCommentCount);
+                searchIndexService.indexComments(saved);
+                outboxService.appendAll(saved.stream()
+                        .map(comment -> TaskEventRs.of(TaskEventType.COMMENT_CREATED, comment, taskOwners.get(comment.getTaskId())))
+                        .toList());
+                accepted.forEach(pending -> outcomes.add(BulkItemRs.created(pending.index(), pending.comment().getId())));
+            });
+            outcomes.forEach(result::add);
+        } catch (RuntimeException e) {
+            logger.warn("Bulk comment chunk of {} items failed", chunk.items.size(), e);
+            chunk.items.forEach(pending -> result.add(BulkItemRs.failed(pending.index(), e.getMessage())));
+        }
+        chunk.items.clear();
+    }
+
+    /**
+     * Owner of every referenced task that exists, keyed by task id. The owner may be null.
+     */
+    private Map<Long, Long> findTaskOwners(List<PendingComment> items) {
+        Map<Long, Long> owners = new HashMap<>();
+        if (!items.isEmpty()) {
+            taskRepository.findOwnersByIds(items.stream().map(pending -> pending.comment().getTaskId()).collect(Collectors.toSet()))
+                    .forEach(owner -> owners.put(owner.getId(), owner.getUserId()));
+        }
+        return owners;
+    }
+
+    /**
+     * Drops items that reference a missing task or user, or whose content already exists in the
+     * table or earlier in the chunk, recording them as failed. Returns the items to insert.
+     */
+    private List<PendingComment> filter(List<PendingComment> items, Map<Long, Long> taskOwners, List<BulkItemRs> outcomes) {
+        if (items.isEmpty()) {
+            return List.of();
+        }
+        Set<Long> userIds = new HashSet<>(userRepository.findExistingIds(
+                items.stream().map(pending -> pending.comment().getUserId()).filter(Objects::nonNull).collect(Collectors.toSet())));
+        List<byte[]> hashes = items.stream()
+                .map(pending -> pending.comment().getContent())
+                .distinct()
+                .map(ContentHashUtil::of)
+                .toList();
+        Set<String> contents = new HashSet<>(commentRepository.findContentByContentHashIn(hashes));
+
+        List<PendingComment> accepted = new ArrayList<>(items.size());
+        for (PendingComment pending : items) {
+            Comment comment = pending.comment();
+            String error = !taskOwners.containsKey(comment.getTaskId())
+                    ? String.format("Task with id %d not found", comment.getTaskId())
+                    : comment.getUserId() != null && !userIds.contains(comment.getUserId())
+                    ? String.format("User with id %d not found", comment.getUserId())
+                    : !contents.add(comment.getContent())
+                    ? "Comment with the same content already exists"
+                    : null;
+            if (error == null) {
+                accepted.add(pending);
+            } else {
+                outcomes.add(BulkItemRs.failed(pending.index(), error));
+            }
+        }
+        return accepted;
+    }
+
+    private record PendingComment(long index, Comment comment) {
+    }
+
+    private static class Chunk {
+        private final String importId;
+        private final List<PendingComment> items = new ArrayList<>(Constant.BULK_CHUNK_SIZE);
+        private long lastLine = -1;
+
+        private Chunk(String importId) {
+            this.importId = importId;
+        }
+    }
+}
@@ -1,46 +1,152 @@
 package ru.taskmanagment.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.taskmanagment.entity.Comment;
+import ru.taskmanagment.enumClass.TaskEventType;
 import ru.taskmanagment.exception.CommentNotFoundException;
+import ru.taskmanagment.exception.DuplicateCommentException;
 import ru.taskmanagment.payload.rq.CommentRq;
 import ru.taskmanagment.payload.rs.CommentRs;
+import ru.taskmanagment.payload.rs.CursorPageRs;
+import ru.taskmanagment.payload.rs.TaskEventRs;
+import ru.taskmanagment.repository.ArchivedCommentRepository;
 import ru.taskmanagment.repository.CommentRepository;
+import ru.taskmanagment.util.ContentHashUtil;
+import ru.taskmanagment.util.CursorUtil;
+import ru.taskmanagment.util.ETagUtil;
 
 import java.util.List;
+import java.util.Locale;
 
 @Service
 @RequiredArgsConstructor
 public class CommentService {
     private final CommentRepository commentRepository;
+    private final TaskService taskService;
+    private final SearchIndexService searchIndexService;
+    private final OutboxService outboxService;
+    private final TaskArchiveService taskArchiveService;
+    private final ArchivedCommentRepository archivedCommentRepository;
 
+    @Transactional(readOnly = true)
     public List<Comment> getAllComments() {
         return commentRepository.findAll();
     }
 
+    /**
+     * One task's comments in id order. The page is read straight into DTOs as a range scan
+     * over (task_id, id); the task row is only looked up when the page comes back empty. With
+     * {@code includeArchived} an archived task's comments are read from the archive instead.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageRs<CommentRs> getTaskComments(Long taskId, String cursor, Integer size, boolean includeArchived) {
+        int pageSize = CursorUtil.pageSize(size);
+        long afterId = CursorUtil.decode(cursor);
+        Limit limit = Limit.of(pageSize + 1);
+        List<CommentRs> comments = commentRepository.findPageByTaskId(taskId, afterId, limit);
+        if (comments.isEmpty() && includeArchived && taskArchiveService.isArchived(taskId)) {
+            comments = archivedCommentRepository.findPageByTaskId(taskId, afterId, limit);
+        } else if (comments.isEmpty() && cursor == null) {
+            taskService.checkTaskExists(taskId);
+        }
+        boolean hasNext = comments.size() > pageSize;
+        List<CommentRs> items = hasNext ? comments.subList(0, pageSize) : comments;
+        String nextCursor = hasNext ? CursorUtil.encode(items.get(items.size() - 1).getId()) : null;
+        return new CursorPageRs<>(items, nextCursor);
+    }
+
+    @Transactional(readOnly = true)
     public CommentRs getCommentById(Long id) {
-        Comment comment = commentRepository.findById(id)
+        return CommentRs.toCommentRs(findComment(id));
+    }
+
+    @Transactional(readOnly = true)
+    public String getCommentETag(Long id) {
+        return commentRepository.findVersionById(id)
+                .map(ETagUtil::of)
                 .orElseThrow(() -> new CommentNotFoundException(String.format("Comment with id %d not found", id)));
-        return CommentRs.toCommentRs(comment);
     }
 
+    @Transactional
     public CommentRs createComment(CommentRq commentRq) {
         Comment comment = commentRq.toComment(commentRq);
-        Comment savedComment = commentRepository.save(comment);
+        checkDuplicate(0L, comment.getContent());
+        Comment savedComment = saveUnique(comment);
+        searchIndexService.indexComment(savedComment);
+        outboxService.append(event(TaskEventType.COMMENT_CREATED, savedComment));
+        adjustCommentCount(savedComment.getTaskId(), 1);
         return CommentRs.toCommentRs(savedComment);
     }
 
+    @Transactional
     public String deleteComment(Long id) {
-        Comment comment = getCommentById(id).toComment();
+        Comment comment = findComment(id);
         commentRepository.delete(comment);
+        searchIndexService.removeComment(id);
+        outboxService.append(event(TaskEventType.COMMENT_DELETED, comment));
+        adjustCommentCount(comment.getTaskId(), -1);
         return "Comment has been deleted";
     }
 
+    @Transactional
     public CommentRs updateComment(Long id, CommentRq commentRq) {
-        Comment comment = getCommentById(id).toComment();
+        Comment comment = findComment(id);
+        checkDuplicate(id, commentRq.getContent());
         comment.setContent(commentRq.getContent());
-        Comment updatedComment = commentRepository.save(comment);
+        Comment updatedComment = saveUnique(comment);
+        searchIndexService.indexComment(updatedComment);
+        outboxService.append(event(TaskEventType.COMMENT_UPDATED, updatedComment));
         return CommentRs.toCommentRs(updatedComment);
     }
+
+    /**
+     * Comment text is unique, enforced by the unique index on its SHA-256. This lookup is only
+     * the fast path; a concurrent insert of the same text is caught by {@link #saveUnique}.
+     */
+    private void checkDuplicate(Long id, String content) {
+        if (content != null && commentRepository.existsDuplicate(ContentHashUtil.of(content), id)) {
+            throw duplicate();
+        }
+    }
+
+    private Comment saveUnique(Comment comment) {
+        try {
+            Comment savedComment = commentRepository.save(comment);
+            commentRepository.flush();
+            return savedComment;
+        } catch (DataIntegrityViolationException e) {
+            if (isContentHashViolation(e)) {
+                throw duplicate();
+            }
+            throw e;
+        }
+    }
+
+    private static boolean isContentHashViolation(DataIntegrityViolationException e) {
+        String message = e.getMostSpecificCause().getMessage();
+        return message != null && message.toLowerCase(Locale.ROOT).contains(Comment.CONTENT_HASH_UNIQUE);
+    }
+
+    private static DuplicateCommentException duplicate() {
+        return new DuplicateCommentException("Comment with the same content already exists");
+    }
+
+    private TaskEventRs event(TaskEventType type, Comment comment) {
+        return TaskEventRs.of(type, comment, taskService.getOwnerId(comment.getTaskId()));
+    }
+
+    private void adjustCommentCount(Long taskId, long delta) {
+        if (taskId != null) {
+            taskService.adjustCommentCount(taskId, delta);
+        }
+    }
+
+    private Comment findComment(Long id) {
+        return commentRepository.findById(id)
+                .orElseThrow(() -> new CommentNotFoundException(String.format("Comment with id %d not found", id)));
+    }
 }
@@ -2,6 +2,7 @@ package ru.taskmanagment.service;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.taskmanagment.entity.ConflictResolution;
 import ru.taskmanagment.repository.ConflictResolutionRepository;
 
@@ -14,10 +15,12 @@ public class ConflictResolutionService {
 
     private final ConflictResolutionRepository repository;
 
+    @Transactional(readOnly = true)
     public List<ConflictResolution> getAllResolutions() {
         return repository.findAll();
     }
 
+    @Transactional(readOnly = true)
     public ConflictResolution getResolutionById(Long id) {
         return repository.findById(id).orElse(null);
     }
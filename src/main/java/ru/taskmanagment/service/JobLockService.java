@@ -0,0 +1,46 @@
+package ru.taskmanagment.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.taskmanagment.repository.JobLockRepository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Lets exactly one instance run a scheduled job at a time. A lock is a lease: if its holder dies,
+ * the lock frees itself once the lease runs out, so the lease must outlast a normal run.
+ */
+@Service
+@RequiredArgsConstructor
+public class JobLockService {
+    private final JobLockRepository jobLockRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final String owner = UUID.randomUUID().toString();
+
+    /**
+     * The first instance to take a lock creates its row; an instance that loses that race gets
+     * the key violation and reports the lock as taken.
+     */
+    public boolean tryAcquire(String name, Duration lease) {
+        Instant now = Instant.now();
+        Instant until = now.plus(lease);
+        try {
+            return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                if (jobLockRepository.existsById(name)) {
+                    return jobLockRepository.claimExpired(name, owner, until, now) == 1;
+                }
+                return jobLockRepository.create(name, owner, until) == 1;
+            }));
+        } catch (DataIntegrityViolationException e) {
+            return false;
+        }
+    }
+
+    public void release(String name) {
+        transactionTemplate.executeWithoutResult(status -> jobLockRepository.release(name, owner, Instant.now()));
+    }
+}
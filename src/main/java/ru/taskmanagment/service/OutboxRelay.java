@@ -0,0 +1,143 @@
+package ru.taskmanagment.service;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.taskmanagment.entity.OutboxEvent;
+import ru.taskmanagment.repository.OutboxEventRepository;
+import ru.taskmanagment.util.Constant;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Tails the outbox in id order and publishes every event as a {@link ru.taskmanagment.payload.rs.TaskEventRs}
+ * application event. Every instance keeps its own cursor and reads without claiming rows, so the
+ * feed subscribers of every instance see every event; rows are removed only by {@link #purge()}
+ * once they are older than {@code outbox.retention}.
+ * <p>
+ * An id below the newest one read may belong to a transaction that has not committed yet. Such
+ * ids are remembered as gaps and looked up again on every pass until they appear or
+ * {@code outbox.gap-timeout} runs out (a rolled back writer leaves a gap that never fills).
+ * Events of one task cannot be reordered this way: a later change to a task waits for the locks
+ * of the earlier one before drawing its id. A listener failure leaves the cursor on the last
+ * event delivered, so the rest is retried on the next pass.
+ * <p>
+ * The relay runs right after each committing writer and, for events written by other
+ * instances, on a fixed delay.
+ */
+@Service
+@RequiredArgsConstructor
+public class OutboxRelay {
+    private static final long NO_CURSOR = -1;
+    private static final int MAX_TRACKED_GAP = 10 * Constant.BULK_CHUNK_SIZE;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskExecutor taskExecutor;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicBoolean pending = new AtomicBoolean();
+    private final Map<Long, Instant> gaps = new TreeMap<>();
+    private long cursor = NO_CURSOR;
+    @Value("${outbox.gap-timeout:60s}")
+    private Duration gapTimeout;
+    @Value("${outbox.retention:1h}")
+    private Duration retention;
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    public void wakeUp() {
+        if (!running.get()) {
+            taskExecutor.execute(this::relay);
+        } else {
+            pending.set(true);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relay.interval:1000}")
+    public void relay() {
+        if (!running.compareAndSet(false, true)) {
+            pending.set(true);
+            return;
+        }
+        try {
+            do {
+                pending.set(false);
+                int relayed;
+                do {
+                    relayed = relayBatch();
+                } while (relayed == Constant.BULK_CHUNK_SIZE);
+            } while (pending.get());
+        } catch (RuntimeException e) {
+            logger.warn("Outbox relay failed, undelivered events will be retried", e);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Delivers gaps that have since committed, then the next batch after the cursor. The first
+     * pass of an instance starts after the newest event, since nothing subscribed to it earlier.
+     * Returns the number of events read after the cursor.
+     */
+    public int relayBatch() {
+        Integer relayed = transactionTemplate.execute(status -> {
+            if (cursor == NO_CURSOR) {
+                Long maxId = outboxEventRepository.findMaxId();
+                cursor = maxId == null ? 0 : maxId;
+            }
+            relayGaps();
+            List<OutboxEvent> batch = outboxEventRepository.findAfter(cursor, Limit.of(Constant.BULK_CHUNK_SIZE));
+            for (OutboxEvent event : batch) {
+                trackGap(event.getId());
+                eventPublisher.publishEvent(event.toTaskEventRs());
+                cursor = event.getId();
+            }
+            return batch.size();
+        });
+        return relayed == null ? 0 : relayed;
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.purge.interval:60000}")
+    public void purge() {
+        Integer removed = transactionTemplate.execute(status ->
+                outboxEventRepository.deleteCreatedBefore(Instant.now().minus(retention)));
+        if (removed != null && removed > 0) {
+            logger.debug("Purged {} delivered outbox events", removed);
+        }
+    }
+
+    private void relayGaps() {
+        if (gaps.isEmpty()) {
+            return;
+        }
+        for (OutboxEvent event : outboxEventRepository.findByIdInOrderById(List.copyOf(gaps.keySet()))) {
+            eventPublisher.publishEvent(event.toTaskEventRs());
+            gaps.remove(event.getId());
+        }
+        Instant expired = Instant.now().minus(gapTimeout);
+        gaps.values().removeIf(seen -> !seen.isAfter(expired));
+    }
+
+    private void trackGap(long id) {
+        if (id - cursor - 1 > MAX_TRACKED_GAP) {
+            logger.warn("Outbox ids {}..{} skipped without tracking", cursor + 1, id - 1);
+            return;
+        }
+        Instant now = Instant.now();
+        for (long missing = cursor + 1; missing < id; missing++) {
+            gaps.putIfAbsent(missing, now);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package ru.taskmanagment.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.taskmanagment.entity.OutboxEvent;
+import ru.taskmanagment.payload.rs.TaskEventRs;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Records task events in the caller's transaction, so an event exists exactly when its change
+ * commits and publishing costs the writer one batched insert.
+ */
+@Service
+public class OutboxService {
+    private static final int[] INSERT_TYPES = {Types.VARCHAR, Types.BIGINT, Types.BIGINT, Types.BIGINT, Types.TIMESTAMP};
+
+    private final OutboxRelay outboxRelay;
+    private final EntityManager entityManager;
+    private final JdbcTemplate jdbcTemplate;
+    private final String insertSql;
+
+    public OutboxService(OutboxRelay outboxRelay, EntityManager entityManager, JdbcTemplate jdbcTemplate,
+                         EntityManagerFactory entityManagerFactory) {
+        this.outboxRelay = outboxRelay;
+        this.entityManager = entityManager;
+        this.jdbcTemplate = jdbcTemplate;
+        String nextId = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect().getSequenceSupport()
+                .getSelectSequenceNextValString(OutboxEvent.SEQUENCE);
+        this.insertSql = "INSERT INTO outbox_event (id, type, task_id, comment_id, user_id, created_at) VALUES ("
+                + nextId + ", ?, ?, ?, ?, ?)";
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(TaskEventRs event) {
+        appendAll(List.of(event));
+    }
+
+    /**
+     * Pending changes are flushed once, so the row locks of the changed entities are held before
+     * any event id is drawn. Ids come from the sequence inside the insert itself, one JDBC batch
+     * per call, and the sequence is not pooled: a later change to the same task, on any instance,
+     * waits for those locks and draws a higher id, so events of one task get ids in commit order.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void appendAll(Collection<TaskEventRs> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        entityManager.flush();
+        Timestamp createdAt = Timestamp.from(Instant.now());
+        List<Object[]> rows = events.stream()
+                .map(event -> new Object[]{event.getType().name(), event.getTaskId(), event.getCommentId(),
+                        event.getUserId(), createdAt})
+                .toList();
+        jdbcTemplate.batchUpdate(insertSql, rows, INSERT_TYPES);
+        if (!TransactionSynchronizationManager.hasResource(this)) {
+            TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResource(OutboxService.this);
+                    if (status == STATUS_COMMITTED) {
+                        outboxRelay.wakeUp();
+                    }
+                }
+            });
+        }
+    }
+}
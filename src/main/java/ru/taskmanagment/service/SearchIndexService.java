@@ -0,0 +1,355 @@
+package ru.taskmanagment.service;
+
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.classic.ParseException;
+import org.apache.lucene.queryparser.classic.QueryParser;
+import org.apache.lucene.search.ControlledRealTimeReopenThread;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.taskmanagment.entity.Comment;
+import ru.taskmanagment.entity.Task;
+import ru.taskmanagment.payload.rs.CommentRs;
+import ru.taskmanagment.payload.rs.SearchHitRs;
+import ru.taskmanagment.payload.rs.SearchRs;
+import ru.taskmanagment.payload.rs.TaskViewRs;
+import ru.taskmanagment.util.Constant;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Embedded Lucene index over task titles/descriptions and comment contents. It is maintained
+ * incrementally by {@link TaskService} and {@link CommentService} once their changes commit,
+ * and becomes searchable within {@link #MAX_STALE_SEC} seconds through near-real-time reopening.
+ * Set {@code search.index.path} to keep the index on disk; otherwise it lives in memory and is
+ * rebuilt from the database at every startup.
+ * <p>
+ * Updates reach disk only with the periodic commit, so the commit data records whether the index
+ * was closed cleanly. Every commit made while running is marked unclean; only {@link #close()}
+ * of a complete index marks it clean, and an index opened from any other commit is rebuilt.
+ */
+@Service
+public class SearchIndexService {
+    private static final String KEY = "key";
+    private static final String TYPE = "type";
+    private static final String ID = "id";
+    private static final String TASK = "task";
+    private static final String COMMENT = "comment";
+    private static final String TITLE = "title";
+    private static final String TEXT = "text";
+    private static final String CLEAN_SHUTDOWN = "cleanShutdown";
+    private static final double MAX_STALE_SEC = 1.0;
+    private static final double MIN_STALE_SEC = 0.1;
+    private static final Logger logger = LoggerFactory.getLogger(SearchIndexService.class);
+
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+    private final ControlledRealTimeReopenThread<IndexSearcher> reopenThread;
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private final ReadWriteLock rebuildLock = new ReentrantReadWriteLock();
+    private Queue<IndexOperation> deferred;
+    private volatile boolean complete;
+
+    public SearchIndexService(@Value("${search.index.path:}") String indexPath) throws IOException {
+        Directory directory = indexPath.isBlank() ? new ByteBuffersDirectory() : FSDirectory.open(Path.of(indexPath));
+        this.writer = new IndexWriter(directory, new IndexWriterConfig(analyzer));
+        this.complete = isClean(writer.getLiveCommitData());
+        markClean(false);
+        this.searcherManager = new SearcherManager(writer, null);
+        this.reopenThread = new ControlledRealTimeReopenThread<>(writer, searcherManager, MAX_STALE_SEC, MIN_STALE_SEC);
+        this.reopenThread.setName("search-index-reopen");
+        this.reopenThread.setDaemon(true);
+        this.reopenThread.start();
+    }
+
+    public boolean isEmpty() {
+        return writer.getDocStats().numDocs == 0;
+    }
+
+    /**
+     * True when the index is empty or was not closed cleanly, so updates since its last commit
+     * may be missing.
+     */
+    public boolean needsRebuild() {
+        return !complete || isEmpty();
+    }
+
+    public void indexTask(Task task) {
+        Document document = taskDocument(task.getId(), task.getTitle(), task.getDescription());
+        afterCommit(() -> writer.updateDocument(taskKey(task.getId()), document));
+    }
+
+    public void indexTasks(List<Task> tasks) {
+        List<Document> documents = tasks.stream()
+                .map(task -> taskDocument(task.getId(), task.getTitle(), task.getDescription()))
+                .toList();
+        afterCommit(() -> {
+            for (int i = 0; i < documents.size(); i++) {
+                writer.updateDocument(taskKey(tasks.get(i).getId()), documents.get(i));
+            }
+        });
+    }
+
+    public void indexComment(Comment comment) {
+        Document document = commentDocument(comment.getId(), comment.getTaskId(), comment.getContent());
+        afterCommit(() -> writer.updateDocument(commentKey(comment.getId()), document));
+    }
+
+    public void indexComments(List<Comment> comments) {
+        List<Document> documents = comments.stream()
+                .map(comment -> commentDocument(comment.getId(), comment.getTaskId(), comment.getContent()))
+                .toList();
+        afterCommit(() -> {
+            for (int i = 0; i < documents.size(); i++) {
+                writer.updateDocument(commentKey(comments.get(i).getId()), documents.get(i));
+            }
+        });
+    }
+
+    /**
+     * Removes the task and every comment indexed under it.
+     */
+    public void removeTask(Long taskId) {
+        afterCommit(() -> writer.deleteDocuments(new Term(TASK, String.valueOf(taskId))));
+    }
+
+    public void removeComment(Long commentId) {
+        afterCommit(() -> writer.deleteDocuments(commentKey(commentId)));
+    }
+
+    public SearchRs search(String queryText, Integer page, Integer size) {
+        int pageSize = size == null || size <= 0 ? Constant.DEFAULT_PAGE_SIZE : Math.min(size, Constant.MAX_PAGE_SIZE);
+        int pageNumber = page == null || page < 0 ? 0 : Math.min(page, Constant.MAX_SEARCH_WINDOW / pageSize - 1);
+        Query query = parse(queryText);
+        IndexSearcher searcher = null;
+        try {
+            searcher = searcherManager.acquire();
+            TopDocs topDocs = searcher.search(query, (pageNumber + 1) * pageSize);
+            List<SearchHitRs> hits = new ArrayList<>(pageSize);
+            for (int i = pageNumber * pageSize; i < topDocs.scoreDocs.length; i++) {
+                ScoreDoc scoreDoc = topDocs.scoreDocs[i];
+                Document document = searcher.doc(scoreDoc.doc);
+                String taskId = document.get(TASK);
+                hits.add(new SearchHitRs(
+                        document.get(TYPE),
+                        document.getField(ID).numericValue().longValue(),
+                        taskId == null ? null : Long.valueOf(taskId),
+                        document.get(TITLE),
+                        scoreDoc.score));
+            }
+            return new SearchRs(topDocs.totalHits.value, pageNumber, pageSize, hits);
+        } catch (IOException e) {
+            throw new IllegalStateException("Search index is unavailable", e);
+        } finally {
+            release(searcher);
+        }
+    }
+
+    /**
+     * Rewrites the index from full scans of both tables. Documents are written directly rather
+     * than after commit, because the caller holds a transaction open for the streams. Incremental
+     * updates that arrive meanwhile are held back and applied once the scan is written, so a
+     * change committed after the scan's snapshot is not overwritten by the older row. The
+     * streams are opened only after that, which puts their snapshot after the cut-over.
+     */
+    public void rebuild(Supplier<Stream<TaskViewRs>> tasks, Supplier<Stream<CommentRs>> comments) throws IOException {
+        complete = false;
+        rebuildLock.writeLock().lock();
+        try {
+            deferred = new ConcurrentLinkedQueue<>();
+            writer.deleteAll();
+        } finally {
+            rebuildLock.writeLock().unlock();
+        }
+        try {
+            try (Stream<TaskViewRs> taskStream = tasks.get()) {
+                Iterator<TaskViewRs> taskIterator = taskStream.iterator();
+                while (taskIterator.hasNext()) {
+                    TaskViewRs task = taskIterator.next();
+                    writer.updateDocument(taskKey(task.getId()), taskDocument(task.getId(), task.getTitle(), task.getDescription()));
+                }
+            }
+            try (Stream<CommentRs> commentStream = comments.get()) {
+                Iterator<CommentRs> commentIterator = commentStream.iterator();
+                while (commentIterator.hasNext()) {
+                    CommentRs comment = commentIterator.next();
+                    writer.updateDocument(commentKey(comment.getId()),
+                            commentDocument(comment.getId(), comment.getTaskId(), comment.getContent()));
+                }
+            }
+        } finally {
+            applyDeferred();
+        }
+        writer.commit();
+        complete = true;
+    }
+
+    @Scheduled(fixedDelayString = "${search.index.commit-interval:30000}")
+    public void commit() {
+        try {
+            writer.commit();
+        } catch (IOException e) {
+            logger.error("Failed to commit search index", e);
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        reopenThread.close();
+        searcherManager.close();
+        markClean(complete);
+        writer.close();
+    }
+
+    private void markClean(boolean clean) {
+        writer.setLiveCommitData(Map.of(CLEAN_SHUTDOWN, String.valueOf(clean)).entrySet());
+    }
+
+    private static boolean isClean(Iterable<Map.Entry<String, String>> commitData) {
+        if (commitData != null) {
+            for (Map.Entry<String, String> entry : commitData) {
+                if (CLEAN_SHUTDOWN.equals(entry.getKey())) {
+                    return Boolean.parseBoolean(entry.getValue());
+                }
+            }
+        }
+        return false;
+    }
+
+    private static Term taskKey(Long taskId) {
+        return new Term(KEY, TASK + ":" + taskId);
+    }
+
+    private static Term commentKey(Long commentId) {
+        return new Term(KEY, COMMENT + ":" + commentId);
+    }
+
+    private static Document taskDocument(Long id, String title, String description) {
+        Document document = new Document();
+        document.add(new StringField(KEY, TASK + ":" + id, Field.Store.NO));
+        document.add(new StringField(TYPE, TASK, Field.Store.YES));
+        document.add(new StoredField(ID, id));
+        document.add(new StringField(TASK, String.valueOf(id), Field.Store.YES));
+        document.add(new StoredField(TITLE, title));
+        document.add(new TextField(TEXT, title + "\n" + description, Field.Store.NO));
+        return document;
+    }
+
+    private static Document commentDocument(Long id, Long taskId, String content) {
+        Document document = new Document();
+        document.add(new StringField(KEY, COMMENT + ":" + id, Field.Store.NO));
+        document.add(new StringField(TYPE, COMMENT, Field.Store.YES));
+        document.add(new StoredField(ID, id));
+        if (taskId != null) {
+            document.add(new StringField(TASK, String.valueOf(taskId), Field.Store.YES));
+        }
+        document.add(new TextField(TEXT, content, Field.Store.NO));
+        return document;
+    }
+
+    private Query parse(String queryText) {
+        QueryParser parser = new QueryParser(TEXT, analyzer);
+        try {
+            return parser.parse(queryText);
+        } catch (ParseException e) {
+            try {
+                return parser.parse(QueryParser.escape(queryText));
+            } catch (ParseException escaped) {
+                throw new IllegalArgumentException("Unsupported search query: " + queryText, escaped);
+            }
+        }
+    }
+
+    private void afterCommit(IndexOperation operation) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(operation);
+                }
+            });
+        } else {
+            apply(operation);
+        }
+    }
+
+    private void apply(IndexOperation operation) {
+        rebuildLock.readLock().lock();
+        try {
+            if (deferred != null) {
+                deferred.add(operation);
+                return;
+            }
+            run(operation);
+        } finally {
+            rebuildLock.readLock().unlock();
+        }
+    }
+
+    private void applyDeferred() {
+        rebuildLock.writeLock().lock();
+        try {
+            deferred.forEach(this::run);
+            deferred = null;
+        } finally {
+            rebuildLock.writeLock().unlock();
+        }
+    }
+
+    private void run(IndexOperation operation) {
+        try {
+            operation.run();
+        } catch (IOException e) {
+            logger.error("Failed to update search index", e);
+        }
+    }
+
+    private void release(IndexSearcher searcher) {
+        if (searcher == null) {
+            return;
+        }
+        try {
+            searcherManager.release(searcher);
+        } catch (IOException e) {
+            logger.warn("Failed to release index searcher", e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface IndexOperation {
+        void run() throws IOException;
+    }
+}
@@ -0,0 +1,106 @@
+package ru.taskmanagment.service;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.taskmanagment.config.security.CacheConfig;
+import ru.taskmanagment.entity.Task;
+import ru.taskmanagment.enumClass.Status;
+import ru.taskmanagment.enumClass.TaskEventType;
+import ru.taskmanagment.exception.TaskNotFoundException;
+import ru.taskmanagment.payload.rs.TaskEventRs;
+import ru.taskmanagment.payload.rs.TaskViewRs;
+import ru.taskmanagment.repository.ArchivedCommentRepository;
+import ru.taskmanagment.repository.ArchivedTaskRepository;
+import ru.taskmanagment.repository.CommentRepository;
+import ru.taskmanagment.repository.TaskRepository;
+import ru.taskmanagment.util.Constant;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Moves tasks that have been {@link Status#COMPLETED} for longer than {@code archive.completed-after}
+ * into {@code task_archive}, together with their comments, so the hot tables and their indexes
+ * only hold live work. Each batch is copied and deleted in one transaction with the task rows
+ * locked, so a task reopened concurrently is either archived as completed or left in place.
+ */
+@Service
+@RequiredArgsConstructor
+public class TaskArchiveService {
+    private final TaskRepository taskRepository;
+    private final CommentRepository commentRepository;
+    private final ArchivedTaskRepository archivedTaskRepository;
+    private final ArchivedCommentRepository archivedCommentRepository;
+    private final SearchIndexService searchIndexService;
+    private final OutboxService outboxService;
+    private final TaskSummaryService taskSummaryService;
+    private final CacheManager cacheManager;
+    private final TransactionTemplate transactionTemplate;
+    private static final Logger logger = LoggerFactory.getLogger(TaskArchiveService.class);
+
+    @Value("${archive.completed-after:30d}")
+    private Duration completedAfter;
+
+    @Transactional(readOnly = true)
+    public boolean isArchived(Long id) {
+        return archivedTaskRepository.existsById(id);
+    }
+
+    @Transactional(readOnly = true)
+    public TaskViewRs getTaskView(Long id) {
+        return archivedTaskRepository.findViewById(id)
+                .orElseThrow(() -> new TaskNotFoundException(String.format("Task with id %d not found", id)));
+    }
+
+    @Scheduled(fixedDelayString = "${archive.interval:3600000}", initialDelayString = "${archive.initial-delay:60000}")
+    public void archiveScheduled() {
+        archiveCompletedTasks();
+    }
+
+    public int archiveCompletedTasks() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(completedAfter);
+        int total = 0;
+        int archived;
+        do {
+            Integer batch = transactionTemplate.execute(status -> archiveBatch(cutoff));
+            archived = batch == null ? 0 : batch;
+            total += archived;
+        } while (archived == Constant.BULK_CHUNK_SIZE);
+        if (total > 0) {
+            logger.info("Archived {} tasks completed before {}", total, cutoff);
+        }
+        return total;
+    }
+
+    private int archiveBatch(LocalDateTime cutoff) {
+        List<Task> tasks = taskRepository.findArchivable(Status.COMPLETED, cutoff, Limit.of(Constant.BULK_CHUNK_SIZE));
+        if (tasks.isEmpty()) {
+            return 0;
+        }
+        List<Long> ids = tasks.stream().map(Task::getId).toList();
+        archivedTaskRepository.archiveTasks(ids);
+        archivedCommentRepository.archiveComments(ids);
+        commentRepository.deleteByTaskIds(ids);
+        taskRepository.deleteByIds(ids);
+        taskSummaryService.tasksRemoved(tasks);
+        Cache cache = cacheManager.getCache(CacheConfig.TASKS);
+        for (Task task : tasks) {
+            if (cache != null) {
+                cache.evict(task.getId());
+            }
+            searchIndexService.removeTask(task.getId());
+        }
+        outboxService.appendAll(tasks.stream().map(task -> TaskEventRs.of(TaskEventType.TASK_ARCHIVED, task)).toList());
+        return tasks.size();
+    }
+}
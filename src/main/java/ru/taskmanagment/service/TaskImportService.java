@@ -0,0 +1,115 @@
+package ru.taskmanagment.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolationException;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.taskmanagment.entity.Task;
+import ru.taskmanagment.enumClass.TaskEventType;
+import ru.taskmanagment.payload.rq.TaskRq;
+import ru.taskmanagment.payload.rs.BulkItemRs;
+import ru.taskmanagment.payload.rs.BulkResultRs;
+import ru.taskmanagment.payload.rs.TaskEventRs;
+import ru.taskmanagment.repository.TaskRepository;
+import ru.taskmanagment.util.Constant;
+import ru.taskmanagment.validation.ValidationUtil;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bulk task creation. Valid items are collected into chunks of {@link Constant#BULK_CHUNK_SIZE}
+ * and each chunk is persisted in its own transaction, so Hibernate can group the inserts into
+ * JDBC batches and a failing chunk does not roll back the ones already written.
+ */
+@Service
+@RequiredArgsConstructor
+public class TaskImportService {
+    private final TaskRepository taskRepository;
+    private final ValidationUtil validationUtil;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final SearchIndexService searchIndexService;
+    private final OutboxService outboxService;
+    private final TaskSummaryService taskSummaryService;
+    private static final Logger logger = LoggerFactory.getLogger(TaskImportService.class);
+
+    public BulkResultRs importTasks(List<TaskRq> taskRqs) {
+        BulkResultRs result = new BulkResultRs();
+        List<PendingTask> chunk = new ArrayList<>(Constant.BULK_CHUNK_SIZE);
+        for (int i = 0; i < taskRqs.size(); i++) {
+            accept(i, taskRqs.get(i), chunk, result);
+        }
+        flush(chunk, result);
+        return result.sortByIndex();
+    }
+
+    public BulkResultRs importTasks(InputStream ndjson) throws IOException {
+        BulkResultRs result = new BulkResultRs();
+        List<PendingTask> chunk = new ArrayList<>(Constant.BULK_CHUNK_SIZE);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(ndjson, StandardCharsets.UTF_8))) {
+            String line;
+            long index = 0;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    try {
+                        accept(index, objectMapper.readValue(line, TaskRq.class), chunk, result);
+                    } catch (JsonProcessingException e) {
+                        result.add(BulkItemRs.failed(index, "Malformed JSON: " + e.getOriginalMessage()));
+                    }
+                }
+                index++;
+            }
+        }
+        flush(chunk, result);
+        return result.sortByIndex();
+    }
+
+    private void accept(long index, TaskRq taskRq, List<PendingTask> chunk, BulkResultRs result) {
+        try {
+            validationUtil.validate(taskRq);
+        } catch (ConstraintViolationException e) {
+            result.add(BulkItemRs.failed(index, e.getMessage()));
+            return;
+        }
+        chunk.add(new PendingTask(index, taskRq.toTask(taskRq)));
+        if (chunk.size() >= Constant.BULK_CHUNK_SIZE) {
+            flush(chunk, result);
+        }
+    }
+
+    private void flush(List<PendingTask> chunk, BulkResultRs result) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<Task> saved = taskRepository.saveAll(chunk.stream().map(PendingTask::task).toList());
+                entityManager.flush();
+                entityManager.clear();
+                taskSummaryService.tasksAdded(saved);
+                searchIndexService.indexTasks(saved);
+                outboxService.appendAll(saved.stream().map(task -> TaskEventRs.of(TaskEventType.TASK_CREATED, task)).toList());
+            });
+            chunk.forEach(pending -> result.add(BulkItemRs.created(pending.index(), pending.task().getId())));
+        } catch (RuntimeException e) {
+            logger.warn("Bulk task chunk of {} items failed", chunk.size(), e);
+            chunk.forEach(pending -> result.add(BulkItemRs.failed(pending.index(), e.getMessage())));
+        }
+        chunk.clear();
+    }
+
+    private record PendingTask(long index, Task task) {
+    }
+}
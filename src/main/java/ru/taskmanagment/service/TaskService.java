@@ -1,50 +1,245 @@
 package ru.taskmanagment.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.taskmanagment.config.security.CacheConfig;
 import ru.taskmanagment.entity.Task;
+import ru.taskmanagment.enumClass.Priority;
+import ru.taskmanagment.enumClass.Status;
+import ru.taskmanagment.enumClass.TaskEventType;
+import ru.taskmanagment.enumClass.TaskSort;
+import ru.taskmanagment.exception.PreconditionFailedException;
 import ru.taskmanagment.exception.TaskNotFoundException;
+import ru.taskmanagment.payload.rq.TaskFilterRq;
+import ru.taskmanagment.payload.rq.TaskPatchRq;
 import ru.taskmanagment.payload.rq.TaskRq;
+import ru.taskmanagment.payload.rq.TaskTransitionRq;
+import ru.taskmanagment.payload.rs.CursorPageRs;
+import ru.taskmanagment.payload.rs.TaskEventRs;
 import ru.taskmanagment.payload.rs.TaskRs;
+import ru.taskmanagment.payload.rs.TaskTransitionRs;
+import ru.taskmanagment.payload.rs.TaskViewRs;
 import ru.taskmanagment.repository.TaskRepository;
+import ru.taskmanagment.util.Constant;
+import ru.taskmanagment.util.CursorUtil;
+import ru.taskmanagment.util.ETagUtil;
+import ru.taskmanagment.validation.ValidationUtil;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class TaskService {
     private final TaskRepository taskRepository;
+    private final ObjectMapper objectMapper;
+    private final ValidationUtil validationUtil;
+    private final CacheManager cacheManager;
+    private final SearchIndexService searchIndexService;
+    private final OutboxService outboxService;
+    private final TaskSummaryService taskSummaryService;
 
-    public List<Task> getAllTasks() {
-        return taskRepository.findAll();
+    @Transactional(readOnly = true)
+    public CursorPageRs<TaskViewRs> getTaskPage(String cursor, Integer size, TaskFilterRq filter) {
+        int pageSize = CursorUtil.pageSize(size);
+        List<TaskViewRs> tasks = taskRepository.findPage(filter, CursorUtil.decodePosition(cursor), pageSize + 1);
+        boolean hasNext = tasks.size() > pageSize;
+        List<TaskViewRs> items = hasNext ? tasks.subList(0, pageSize) : tasks;
+        String nextCursor = hasNext ? nextCursor(filter.getSort(), items.get(items.size() - 1)) : null;
+        return new CursorPageRs<>(items, nextCursor);
     }
 
+    private String nextCursor(TaskSort sort, TaskViewRs last) {
+        return switch (sort) {
+            case ID -> CursorUtil.encode(last.getId());
+            case STATUS -> CursorUtil.encode(last.getStatus().name(), last.getId());
+            case PRIORITY -> CursorUtil.encode(last.getPriority().name(), last.getId());
+        };
+    }
+
+    @Transactional(readOnly = true)
+    public void checkTaskExists(Long id) {
+        if (!taskRepository.existsById(id)) {
+            throw new TaskNotFoundException(String.format("Task with id %d not found", id));
+        }
+    }
+
+    @Transactional(readOnly = true)
     public TaskRs getTaskById(Long id) {
-        Task tasks = taskRepository.findById(id)
-                .orElseThrow(() -> new TaskNotFoundException(String.format("Task with %id not found", id)));
-        return TaskRs.toTaskRs(tasks);
+        return TaskRs.toTaskRs(findTask(id));
+    }
+
+    /**
+     * Writes every task as one JSON document per line. Rows come from a forward-only cursor
+     * as unmanaged DTOs, so neither the persistence context nor the heap grows with the table.
+     */
+    @Transactional(readOnly = true)
+    public void exportTasks(OutputStream outputStream) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(TaskViewRs.class);
+        try (Stream<TaskViewRs> tasks = taskRepository.streamAll()) {
+            Iterator<TaskViewRs> iterator = tasks.iterator();
+            while (iterator.hasNext()) {
+                outputStream.write(writer.writeValueAsBytes(iterator.next()));
+                outputStream.write('\n');
+            }
+        }
+        outputStream.flush();
     }
 
+    /**
+     * Deliberately left on the primary: a row read from a lagging replica would sit in the cache
+     * long after the write that evicted it.
+     */
+    @Cacheable(cacheNames = CacheConfig.TASKS, key = "#id")
+    public TaskViewRs getTaskView(Long id) {
+        return taskRepository.findViewById(id)
+                .orElseThrow(() -> new TaskNotFoundException(String.format("Task with id %d not found", id)));
+    }
+
+    @Transactional
     public TaskRs createTask(TaskRq taskRq) {
         Task task = taskRq.toTask(taskRq);
         Task savedTask = taskRepository.save(task);
+        taskSummaryService.tasksAdded(List.of(savedTask));
+        searchIndexService.indexTask(savedTask);
+        outboxService.append(TaskEventRs.of(TaskEventType.TASK_CREATED, savedTask));
         return TaskRs.toTaskRs(savedTask);
     }
 
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.TASKS, key = "#id")
     public String deleteTask(Long id) {
-        Task task = getTaskById(id).toTask();
+        Task task = findTask(id);
         taskRepository.delete(task);
+        taskSummaryService.tasksRemoved(List.of(task));
+        searchIndexService.removeTask(id);
+        outboxService.append(TaskEventRs.of(TaskEventType.TASK_DELETED, task));
         return "Task has been deleted";
     }
 
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.TASKS, key = "#id")
     public TaskRs updateTask(Long id, TaskRq taskRq) {
-        Task task = getTaskById(id).toTask();
-        task.setId(task.getId());
-        task.setTitle(task.getTitle());
+        Task task = findTask(id);
+        Status previousStatus = task.getStatus();
+        Priority previousPriority = task.getPriority();
         task.setDescription(taskRq.getDescription());
         task.setStatus(taskRq.getStatus());
         task.setPriority(taskRq.getPriority());
         Task updatedTask = taskRepository.save(task);
+        taskSummaryService.taskChanged(previousStatus, previousPriority, updatedTask);
+        searchIndexService.indexTask(updatedTask);
+        outboxService.append(TaskEventRs.of(TaskEventType.TASK_UPDATED, updatedTask));
         return TaskRs.toTaskRs(updatedTask);
     }
+
+    /**
+     * The matched tasks are locked first; counting them for the summary and updating them then
+     * work on the same rows, even under READ COMMITTED with concurrent writers.
+     */
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.TASKS, allEntries = true)
+    public TaskTransitionRs transitionTasks(TaskTransitionRq transitionRq) {
+        validationUtil.validate(transitionRq);
+        List<Long> ids = transitionRq.hasIds()
+                ? taskRepository.lockIdsByIds(transitionRq.getIds())
+                : taskRepository.lockIdsByFilter(transitionRq.getUserId(), transitionRq.getFromStatus(),
+                transitionRq.getFromPriority());
+        List<TaskRepository.SummaryGroup> groups = new ArrayList<>();
+        int updated = 0;
+        for (int from = 0; from < ids.size(); from += Constant.BULK_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + Constant.BULK_CHUNK_SIZE, ids.size()));
+            groups.addAll(taskRepository.countGroupsByIds(chunk));
+            updated += taskRepository.transitionByIds(chunk, transitionRq.getStatus(), transitionRq.getPriority());
+        }
+        taskSummaryService.tasksTransitioned(groups, transitionRq.getStatus(), transitionRq.getPriority(), updated);
+        if (updated > 0) {
+            outboxService.append(TaskEventRs.transitioned(transitionRq.hasIds() ? null : transitionRq.getUserId()));
+        }
+        return new TaskTransitionRs(updated);
+    }
+
+    /**
+     * Applies the non-null fields of the patch when {@code expectedVersion} still matches.
+     * A stale version is rejected before anything is written; a concurrent write that slips in
+     * between is caught by the versioned UPDATE, which only touches the changed columns.
+     */
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.TASKS, key = "#id")
+    public TaskViewRs patchTask(Long id, Long expectedVersion, TaskPatchRq patchRq) {
+        validationUtil.validate(patchRq);
+        Task task = findTask(id);
+        if (expectedVersion != null && !expectedVersion.equals(task.getVersion())) {
+            throw new PreconditionFailedException(String.format("Task with id %d has been modified", id));
+        }
+        Status previousStatus = task.getStatus();
+        Priority previousPriority = task.getPriority();
+        if (patchRq.getTitle() != null) {
+            task.setTitle(patchRq.getTitle());
+        }
+        if (patchRq.getDescription() != null) {
+            task.setDescription(patchRq.getDescription());
+        }
+        if (patchRq.getStatus() != null) {
+            task.setStatus(patchRq.getStatus());
+        }
+        if (patchRq.getPriority() != null) {
+            task.setPriority(patchRq.getPriority());
+        }
+        try {
+            taskRepository.saveAndFlush(task);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            throw new PreconditionFailedException(String.format("Task with id %d has been modified", id));
+        }
+        taskSummaryService.taskChanged(previousStatus, previousPriority, task);
+        if (patchRq.getTitle() != null || patchRq.getDescription() != null) {
+            searchIndexService.indexTask(task);
+        }
+        outboxService.append(TaskEventRs.of(TaskEventType.TASK_UPDATED, task));
+        return getTaskView(id);
+    }
+
+    public static String eTagOf(TaskViewRs taskViewRs) {
+        return ETagUtil.of(taskViewRs.getVersion(), taskViewRs.getCommentCount());
+    }
+
+    @Transactional(readOnly = true)
+    public Long getOwnerId(Long id) {
+        return id == null ? null : taskRepository.findUserIdById(id).orElse(null);
+    }
+
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.TASKS, key = "#id")
+    public void adjustCommentCount(Long id, long delta) {
+        taskRepository.adjustCommentCount(id, delta);
+    }
+
+    @Transactional(readOnly = true)
+    public String getTaskETag(Long id) {
+        Cache tasks = cacheManager.getCache(CacheConfig.TASKS);
+        TaskViewRs cached = tasks != null ? tasks.get(id, TaskViewRs.class) : null;
+        if (cached != null) {
+            return eTagOf(cached);
+        }
+        return taskRepository.findVersionById(id)
+                .map(version -> ETagUtil.of(version.getVersion(), version.getCommentCount()))
+                .orElseThrow(() -> new TaskNotFoundException(String.format("Task with id %d not found", id)));
+    }
+
+    private Task findTask(Long id) {
+        return taskRepository.findById(id)
+                .orElseThrow(() -> new TaskNotFoundException(String.format("Task with id %d not found", id)));
+    }
 }
@@ -0,0 +1,189 @@
+package ru.taskmanagment.service;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.taskmanagment.entity.Task;
+import ru.taskmanagment.entity.TaskSummary;
+import ru.taskmanagment.enumClass.Priority;
+import ru.taskmanagment.enumClass.Status;
+import ru.taskmanagment.payload.rs.TaskSummaryRs;
+import ru.taskmanagment.repository.TaskRepository;
+import ru.taskmanagment.repository.TaskSummaryRepository;
+import ru.taskmanagment.repository.UserRepository;
+import ru.taskmanagment.util.Constant;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Per-user task counts by status and priority, served from {@link TaskSummary} so a summary
+ * costs at most one row per status/priority pair however many tasks the user owns. Task writers
+ * report their changes here inside their own transaction; {@link #rebuild()} recounts the
+ * table from the task table nightly to repair any drift. Tasks without an owner and
+ * archived tasks are not counted.
+ */
+@Service
+@RequiredArgsConstructor
+public class TaskSummaryService {
+    private static final Comparator<TaskSummary.Key> KEY_ORDER = Comparator
+            .comparing(TaskSummary.Key::getUserId)
+            .thenComparing(TaskSummary.Key::getStatus)
+            .thenComparing(TaskSummary.Key::getPriority);
+
+    private static final String REBUILD_LOCK = "task-summary-rebuild";
+
+    private final TaskSummaryRepository taskSummaryRepository;
+    private final TaskRepository taskRepository;
+    private final UserRepository userRepository;
+    private final JobLockService jobLockService;
+    private final TransactionTemplate transactionTemplate;
+    @Value("${summary.rebuild.lock-lease:1h}")
+    private Duration rebuildLease;
+    private static final Logger logger = LoggerFactory.getLogger(TaskSummaryService.class);
+
+    @Transactional(readOnly = true)
+    public TaskSummaryRs getSummary(Long userId) {
+        Map<Status, Map<Priority, Long>> counts = new EnumMap<>(Status.class);
+        for (Status status : Status.values()) {
+            Map<Priority, Long> byPriority = new EnumMap<>(Priority.class);
+            for (Priority priority : Priority.values()) {
+                byPriority.put(priority, 0L);
+            }
+            counts.put(status, byPriority);
+        }
+        long total = 0;
+        for (TaskSummary summary : taskSummaryRepository.findByUserId(userId)) {
+            counts.get(summary.getStatus()).put(summary.getPriority(), summary.getTaskCount());
+            total += summary.getTaskCount();
+        }
+        return new TaskSummaryRs(userId, total, counts);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void tasksAdded(Collection<Task> tasks) {
+        Map<TaskSummary.Key, Long> deltas = new TreeMap<>(KEY_ORDER);
+        tasks.forEach(task -> add(deltas, task.getUserId(), task.getStatus(), task.getPriority(), 1));
+        apply(deltas);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void tasksRemoved(Collection<Task> tasks) {
+        Map<TaskSummary.Key, Long> deltas = new TreeMap<>(KEY_ORDER);
+        tasks.forEach(task -> add(deltas, task.getUserId(), task.getStatus(), task.getPriority(), -1));
+        apply(deltas);
+    }
+
+    /**
+     * Moves the task from the cell it was counted in to the one matching its current state.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void taskChanged(Status previousStatus, Priority previousPriority, Task task) {
+        Map<TaskSummary.Key, Long> deltas = new TreeMap<>(KEY_ORDER);
+        add(deltas, task.getUserId(), previousStatus, previousPriority, -1);
+        add(deltas, task.getUserId(), task.getStatus(), task.getPriority(), 1);
+        apply(deltas);
+    }
+
+    /**
+     * Applies a bulk transition given the groups counted just before the update, over rows the
+     * caller holds locked. Groups that do not add up to {@code updated} point to a bug; the
+     * difference is logged and left to the next rebuild.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void tasksTransitioned(List<TaskRepository.SummaryGroup> groups, Status status, Priority priority, int updated) {
+        Map<TaskSummary.Key, Long> deltas = new TreeMap<>(KEY_ORDER);
+        long counted = 0;
+        for (TaskRepository.SummaryGroup group : groups) {
+            counted += group.getTaskCount();
+            add(deltas, group.getUserId(), group.getStatus(), group.getPriority(), -group.getTaskCount());
+            add(deltas, group.getUserId(), status != null ? status : group.getStatus(),
+                    priority != null ? priority : group.getPriority(), group.getTaskCount());
+        }
+        if (counted != updated) {
+            logger.warn("Transition updated {} tasks but {} were counted, task summary will drift until rebuilt",
+                    updated, counted);
+        }
+        apply(deltas);
+    }
+
+    /**
+     * Recounts the cells of a batch of users per transaction, so writers only ever wait for the
+     * users being recounted. One instance rebuilds at a time; on the others the run is skipped.
+     * A batch that fails is logged and left to the next run.
+     * <p>
+     * A batch deletes its cells first and then counts, and the counts are added through the same
+     * upsert writers use: a writer that has not committed by then is not counted, and its delta
+     * lands on top of the recount.
+     */
+    @Scheduled(cron = "${summary.rebuild.cron:0 30 3 * * *}")
+    public int rebuild() {
+        if (!jobLockService.tryAcquire(REBUILD_LOCK, rebuildLease)) {
+            logger.info("Task summary rebuild skipped, another instance is running it");
+            return 0;
+        }
+        try {
+            int rows = 0;
+            long after = 0;
+            List<Long> userIds;
+            do {
+                userIds = userRepository.findIdsAfter(after, Limit.of(Constant.BULK_CHUNK_SIZE));
+                if (userIds.isEmpty()) {
+                    break;
+                }
+                rows += rebuildBatch(userIds);
+                after = userIds.get(userIds.size() - 1);
+            } while (userIds.size() == Constant.BULK_CHUNK_SIZE);
+            logger.info("Rebuilt task summary with {} rows", rows);
+            return rows;
+        } finally {
+            jobLockService.release(REBUILD_LOCK);
+        }
+    }
+
+    private int rebuildBatch(List<Long> userIds) {
+        try {
+            Integer rows = transactionTemplate.execute(status -> {
+                taskSummaryRepository.deleteByUserIds(userIds);
+                Map<TaskSummary.Key, Long> counts = new TreeMap<>(KEY_ORDER);
+                taskRepository.countGroupsByUserIds(userIds).forEach(group ->
+                        add(counts, group.getUserId(), group.getStatus(), group.getPriority(), group.getTaskCount()));
+                apply(counts);
+                return counts.size();
+            });
+            return rows == null ? 0 : rows;
+        } catch (RuntimeException e) {
+            logger.warn("Task summary rebuild of users {}..{} failed", userIds.get(0), userIds.get(userIds.size() - 1), e);
+            return 0;
+        }
+    }
+
+    private static void add(Map<TaskSummary.Key, Long> deltas, Long userId, Status status, Priority priority, long delta) {
+        if (userId != null) {
+            deltas.merge(new TaskSummary.Key(userId, status, priority), delta, Long::sum);
+        }
+    }
+
+    /**
+     * Cells are written in key order, so two writers touching the same cells cannot deadlock.
+     */
+    private void apply(Map<TaskSummary.Key, Long> deltas) {
+        deltas.forEach((key, delta) -> {
+            if (delta != 0) {
+                taskSummaryRepository.adjust(key, delta);
+            }
+        });
+    }
+}
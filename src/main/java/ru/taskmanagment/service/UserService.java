@@ -5,21 +5,19 @@ import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.BadCredentialsException;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.taskmanagment.config.jwt.JwtTokenUtil;
+import ru.taskmanagment.config.jwt.TokenRevocationList;
 import ru.taskmanagment.entity.Role;
 import ru.taskmanagment.entity.User;
 import ru.taskmanagment.exception.CustomerRoleNotFoundException;
+import ru.taskmanagment.exception.PasswordHashingOverloadedException;
 import ru.taskmanagment.payload.main.WebRs;
 import ru.taskmanagment.exception.UserNotFoundException;
 import ru.taskmanagment.payload.rq.*;
 import ru.taskmanagment.payload.rs.RegisterLoginRs;
-import ru.taskmanagment.payload.rs.UserAuth;
 import ru.taskmanagment.payload.rs.UserRs;
 import ru.taskmanagment.repository.RoleRepository;
 import ru.taskmanagment.repository.UserRepository;
@@ -40,12 +38,13 @@ public class UserService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtTokenUtil jwtTokenUtil;
-    private final AuthenticationManager authenticationManager;
     private final ValidationUtil validationUtil;
     private final RoleRepository roleRepository;
+    private final TokenRevocationList tokenRevocationList;
     private static final Logger logger = LoggerFactory.getLogger(UserService.class);
 
 
+    @Transactional(readOnly = true)
     public WebRs<List<UserRs>> getAllUsers() {
         List<UserRs> userResponses = userRepository.findAll().stream()
                 .map(user -> new UserRs(user.getId(), user.getName(), user.getEmail(), user.getRoles()))
@@ -54,6 +53,7 @@ public class UserService {
         return new WebRs<>(HttpStatus.OK.value(), HttpStatus.OK.name(), userResponses);
     }
 
+    @Transactional(readOnly = true)
     public WebRs<UserRs> findById(Long id) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new UserNotFoundException("User not found"));
@@ -80,33 +80,48 @@ public class UserService {
             throw new CustomerRoleNotFoundException("Role " + Constant.ROLE_USER + " not found");
         }
         userRepository.save(user);
-        return generateAndAttemptToken(registerRq.getEmail(), registerRq.getPassword());
+        return issueAccessToken(user);
     }
 
+    /**
+     * One user lookup (roles fetched along) and one password check; the token is built from that
+     * user directly instead of going through the {@code AuthenticationManager}, which would load
+     * the user and run the hash again. Only outdated hashes cost a second, one-time hash.
+     */
     public WebRs<List<RegisterLoginRs>> login(LoginRq loginRq) throws UserNotFoundException {
-        if (!userRepository.findByEmail(loginRq.getEmail()).isPresent()) {
-            throw new UserNotFoundException("Email address not registered");
+        User user = userRepository.findWithRolesByEmail(loginRq.getEmail())
+                .orElseThrow(() -> new UserNotFoundException("Email address not registered"));
+        if (!passwordEncoder.matches(loginRq.getPassword(), user.getPassword())) {
+            throw new UserNotFoundException("Email and password are incorrect");
         }
-        return generateAndAttemptToken(loginRq.getEmail(), loginRq.getPassword());
+        upgradePasswordHash(user, loginRq.getPassword());
+        return issueAccessToken(user);
     }
 
-    private WebRs<List<RegisterLoginRs>> generateAndAttemptToken(String email, String password) throws UserNotFoundException {
-        User user = userRepository.findByEmail(email).orElseThrow(() -> new UserNotFoundException("Email address not registered"));
-        if (!passwordEncoder.matches(password, user.getPassword())) {
-            throw new UserNotFoundException("Email and password are incorrect");
+    /**
+     * Rehashes a legacy or weaker-than-current hash while the raw password is at hand. Skipped
+     * when hashing is overloaded; the next login tries again.
+     */
+    private void upgradePasswordHash(User user, String rawPassword) {
+        if (!passwordEncoder.upgradeEncoding(user.getPassword())) {
+            return;
         }
-        try{
-            Authentication authentication = authenticationManager.authenticate(
-                    new UsernamePasswordAuthenticationToken(email, password)
-            );
-            UserAuth userAuth = (UserAuth) authentication.getPrincipal();
-            String accessToken = jwtTokenUtil.generateAccessToken(userAuth);
-            return new WebRs<>(new RegisterLoginRs(accessToken));
-        } catch (BadCredentialsException e) {
-            throw new UserNotFoundException("Email and password are incorrect");
+        try {
+            String upgraded = passwordEncoder.encode(rawPassword);
+            if (userRepository.replacePassword(user.getId(), user.getPassword(), upgraded) > 0) {
+                user.setPassword(upgraded);
+            }
+        } catch (PasswordHashingOverloadedException e) {
+            logger.debug("Skipped password rehash for user {}: {}", user.getId(), e.getMessage());
         }
     }
 
+    private WebRs<List<RegisterLoginRs>> issueAccessToken(User user) {
+        String accessToken = jwtTokenUtil.generateAccessToken(user.toUserAuth());
+        return new WebRs<>(new RegisterLoginRs(accessToken));
+    }
+
+    @Transactional(readOnly = true)
     public WebRs<UserRs> profile(String email) throws UserNotFoundException {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new UserNotFoundException("Access token is not valid"));
@@ -129,6 +144,7 @@ public class UserService {
                 .orElseThrow(() -> new UserNotFoundException("Role not found")));
         user.getRoles().add(roleAdmin);
         userRepository.save(user);
+        tokenRevocationList.revoke(user.getId());
 
         return new WebRs<>("User granted admin privileges successfully");
     }
@@ -142,10 +158,11 @@ public class UserService {
         if (!user.getRoles().contains(roleAdmin)) {
             throw new UserNotFoundException("User is not an administrator");
         }
-        user.getRoles().remove(roleRepository.findByAuthority(Constant.ROLE_USER)
+        user.getRoles().remove(roleAdmin);
+        user.getRoles().add(roleRepository.findByAuthority(Constant.ROLE_USER)
                 .orElseThrow(() -> new UserNotFoundException("Role not found")));
-        user.getRoles().add(roleAdmin);
         userRepository.save(user);
+        tokenRevocationList.revoke(user.getId());
 
         return new WebRs<>("User has been removed from admin privileges successfully");
     }
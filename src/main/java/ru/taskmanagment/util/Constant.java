@@ -6,4 +6,13 @@ public final class Constant {
 
 
     public static final long JWT_TOKEN_EXPIRED = 24 * 60 * 60 * 1000L;
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+    public static final String EXPORT_FETCH_SIZE = "500";
+    public static final int MAX_SEARCH_WINDOW = 10000;
+
+    public static final int ID_ALLOCATION_SIZE = 50;
+    public static final int OUTBOX_ID_ALLOCATION_SIZE = 1;
+    public static final int BULK_CHUNK_SIZE = 500;
 }
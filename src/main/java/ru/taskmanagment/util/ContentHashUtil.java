@@ -0,0 +1,28 @@
+package ru.taskmanagment.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Fixed-width fingerprint of free text: its full 32-byte SHA-256 digest. Collisions are
+ * negligible, so equal hashes are treated as equal text and uniqueness is enforced on the hash.
+ */
+public final class ContentHashUtil {
+
+    private ContentHashUtil() {
+    }
+
+    public static final int LENGTH = 32;
+
+    public static byte[] of(String content) {
+        if (content == null) {
+            return null;
+        }
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(content.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
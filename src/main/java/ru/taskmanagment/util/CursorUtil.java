@@ -0,0 +1,61 @@
+package ru.taskmanagment.util;
+
+import ru.taskmanagment.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Encodes keyset positions as opaque, URL-safe continuation tokens. A position is the id of
+ * the last row returned, optionally preceded by the value of the sort column for that row.
+ */
+public final class CursorUtil {
+    private static final char SEPARATOR = '|';
+
+    private CursorUtil() {
+    }
+
+    public record Position(String key, long id) {
+    }
+
+    public static String encode(Long lastId) {
+        return encode(null, lastId);
+    }
+
+    public static String encode(String key, Long lastId) {
+        if (lastId == null) {
+            return null;
+        }
+        String raw = key == null ? String.valueOf(lastId) : key + SEPARATOR + lastId;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static long decode(String cursor) {
+        Position position = decodePosition(cursor);
+        return position == null ? 0L : position.id();
+    }
+
+    public static Position decodePosition(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                return new Position(null, Long.parseLong(raw));
+            }
+            return new Position(raw.substring(0, separator), Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Invalid cursor: " + cursor);
+        }
+    }
+
+    public static int pageSize(Integer size) {
+        if (size == null || size <= 0) {
+            return Constant.DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(size, Constant.MAX_PAGE_SIZE);
+    }
+}
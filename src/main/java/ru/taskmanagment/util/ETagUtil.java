@@ -0,0 +1,42 @@
+package ru.taskmanagment.util;
+
+import ru.taskmanagment.exception.PreconditionFailedException;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * Strong entity tags built from an entity version, optionally followed by further
+ * components of the representation (e.g. a task's comment count), separated by '-'.
+ */
+public final class ETagUtil {
+
+    private ETagUtil() {
+    }
+
+    public static String of(Object... parts) {
+        return Arrays.stream(parts)
+                .map(String::valueOf)
+                .collect(Collectors.joining("-", "\"", "\""));
+    }
+
+    /**
+     * Parses an {@code If-Match} header into the expected version; {@code null} means "*".
+     */
+    public static Long parseIfMatch(String ifMatch) {
+        String value = ifMatch.trim();
+        if (value.equals("*")) {
+            return null;
+        }
+        if (value.startsWith("W/")) {
+            value = value.substring(2);
+        }
+        value = value.replace("\"", "");
+        int separator = value.indexOf('-');
+        try {
+            return Long.parseLong(separator < 0 ? value : value.substring(0, separator));
+        } catch (NumberFormatException e) {
+            throw new PreconditionFailedException("Unrecognized entity tag: " + ifMatch);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package ru.taskmanagment.config.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ReplicaRoutingDataSourceTest {
+    private DataSource primary;
+    private DataSource replica;
+    private ReplicaLagMonitor lagMonitor;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        primary = h2("routing_primary");
+        replica = h2("routing_replica");
+        new JdbcTemplate(primary).execute("CREATE TABLE node (name VARCHAR(16)); INSERT INTO node VALUES ('primary')");
+        new JdbcTemplate(replica).execute("CREATE TABLE node (name VARCHAR(16)); INSERT INTO node VALUES ('replica')");
+
+        route(new ReplicaLagMonitor(replica, "", Duration.ofSeconds(10)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReadConsistency.end();
+        new JdbcTemplate(primary).execute("DROP TABLE node");
+        new JdbcTemplate(replica).execute("DROP TABLE node");
+    }
+
+    @Test
+    void routesReadOnlyTransactionsToReplica() {
+        assertEquals("replica", readOnly.execute(status -> node()));
+        assertEquals("primary", readWrite.execute(status -> node()));
+    }
+
+    @Test
+    void readsOwnWritesWithinRequest() {
+        ReadConsistency.begin(false);
+        assertEquals("replica", readOnly.execute(status -> node()));
+        readWrite.executeWithoutResult(status -> jdbcTemplate.update("UPDATE node SET name = 'written'"));
+        assertEquals("written", readOnly.execute(status -> node()));
+    }
+
+    @Test
+    void readsFromPrimaryWhenStrongConsistencyRequested() {
+        ReadConsistency.begin(true);
+        assertEquals("primary", readOnly.execute(status -> node()));
+    }
+
+    @Test
+    void fallsBackToPrimaryWhenReplicaLags() {
+        route(new ReplicaLagMonitor(replica, "SELECT 30", Duration.ofSeconds(10)));
+        assertEquals("replica", readOnly.execute(status -> node()));
+        lagMonitor.check();
+        assertEquals("primary", readOnly.execute(status -> node()));
+    }
+
+    private void route(ReplicaLagMonitor monitor) {
+        lagMonitor = monitor;
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(lagMonitor);
+        routing.setTargetDataSources(Map.of(
+                ReplicaRoutingDataSource.Route.PRIMARY, primary,
+                ReplicaRoutingDataSource.Route.REPLICA, replica));
+        routing.setDefaultTargetDataSource(primary);
+        routing.afterPropertiesSet();
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        readWrite = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        readOnly = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        readOnly.setReadOnly(true);
+    }
+
+    private String node() {
+        return jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    private static DataSource h2(String name) {
+        return new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+    }
+}
@@ -0,0 +1,70 @@
+package ru.taskmanagment.config.jwt;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import ru.taskmanagment.payload.rs.UserAuth;
+import ru.taskmanagment.util.AppProperties;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JwtTokenUtilTest {
+    private JwtTokenUtil jwtTokenUtil;
+
+    @BeforeEach
+    void setUp() {
+        AppProperties appProperties = new AppProperties();
+        appProperties.setPlainSecretKey("mflzkmfafoijafdomeboiafdafdmaruiafal");
+        jwtTokenUtil = new JwtTokenUtil(appProperties, 100);
+    }
+
+    @Test
+    void verifyAccessTokenReusesVerifiedClaims() {
+        String token = jwtTokenUtil.generateAccessToken(new UserAuth("user@example.com"));
+
+        Claims first = jwtTokenUtil.verifyAccessToken(token);
+        Claims second = jwtTokenUtil.verifyAccessToken(token);
+
+        assertEquals("user@example.com", first.getSubject());
+        assertSame(first, second);
+        assertTrue(jwtTokenUtil.validateAccessToken(token));
+    }
+
+    @Test
+    void toUserAuthRestoresIdAndRoles() {
+        UserAuth userAuth = new UserAuth(7L, "admin@example.com",
+                List.of(new SimpleGrantedAuthority("ROLE_USER"), new SimpleGrantedAuthority("ROLE_ADMIN")));
+        String first = jwtTokenUtil.generateAccessToken(userAuth);
+        String second = jwtTokenUtil.generateAccessToken(new UserAuth(8L, "other@example.com",
+                List.of(new SimpleGrantedAuthority("ROLE_ADMIN"), new SimpleGrantedAuthority("ROLE_USER"))));
+
+        Claims claims = jwtTokenUtil.verifyAccessToken(first);
+        UserAuth restored = jwtTokenUtil.toUserAuth(claims);
+
+        assertEquals("ADMIN,USER", claims.get(JwtTokenUtil.ROLES_CLAIM));
+        assertEquals(7L, restored.getId());
+        assertEquals("admin@example.com", restored.getUsername());
+        assertEquals(List.of("ROLE_ADMIN", "ROLE_USER"),
+                restored.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList());
+        assertSame(restored.getAuthorities(), jwtTokenUtil.toUserAuth(jwtTokenUtil.verifyAccessToken(second)).getAuthorities());
+    }
+
+    @Test
+    void verifyAccessTokenRejectsTamperedSignature() {
+        String token = jwtTokenUtil.generateAccessToken(new UserAuth("user@example.com"));
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertThrows(JwtException.class, () -> jwtTokenUtil.verifyAccessToken(tampered));
+        assertFalse(jwtTokenUtil.validateAccessToken(tampered));
+        assertFalse(jwtTokenUtil.validateAccessToken(null));
+    }
+}
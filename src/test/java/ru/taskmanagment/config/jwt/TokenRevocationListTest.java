@@ -0,0 +1,64 @@
+package ru.taskmanagment.config.jwt;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.taskmanagment.entity.TokenRevocation;
+import ru.taskmanagment.repository.TokenRevocationRepository;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationListTest {
+    @Mock
+    private TokenRevocationRepository tokenRevocationRepository;
+
+    @InjectMocks
+    private TokenRevocationList tokenRevocationList;
+
+    @Test
+    void revokeRejectsTokensIssuedBefore() {
+        Date issuedBefore = Date.from(Instant.now().minusSeconds(60));
+
+        tokenRevocationList.revoke(1L);
+
+        verify(tokenRevocationRepository).save(any(TokenRevocation.class));
+        assertTrue(tokenRevocationList.isRevoked(1L, issuedBefore));
+        assertFalse(tokenRevocationList.isRevoked(1L, Date.from(Instant.now().plusSeconds(2))));
+        assertFalse(tokenRevocationList.isRevoked(2L, issuedBefore));
+        assertFalse(tokenRevocationList.isRevoked(null, issuedBefore));
+    }
+
+    @Test
+    void revokeRejectsTokensIssuedInTheSameSecond() {
+        Instant revokedAt = Instant.ofEpochSecond(Instant.now().getEpochSecond()).plusMillis(500);
+        when(tokenRevocationRepository.findByRevokedAtAfter(any()))
+                .thenReturn(List.of(new TokenRevocation(1L, revokedAt)));
+        tokenRevocationList.refresh();
+
+        assertTrue(tokenRevocationList.isRevoked(1L, Date.from(revokedAt.minusMillis(400))));
+        assertTrue(tokenRevocationList.isRevoked(1L, Date.from(revokedAt.plusMillis(400))));
+        assertFalse(tokenRevocationList.isRevoked(1L, Date.from(revokedAt.plusMillis(600))));
+    }
+
+    @Test
+    void refreshLoadsRevocationsFromOtherInstances() {
+        when(tokenRevocationRepository.findByRevokedAtAfter(any()))
+                .thenReturn(List.of(new TokenRevocation(3L, Instant.now())));
+
+        tokenRevocationList.refresh();
+
+        assertTrue(tokenRevocationList.isRevoked(3L, Date.from(Instant.now().minusSeconds(60))));
+        verify(tokenRevocationRepository).deleteRevokedBefore(any());
+    }
+}
@@ -0,0 +1,26 @@
+package ru.taskmanagment.config.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BCryptStrengthCalibratorTest {
+
+    @Test
+    void picksHighestStrengthWithinTarget() {
+        long tenMillis = Duration.ofMillis(10).toNanos();
+
+        assertEquals(12, BCryptStrengthCalibrator.calibrate(Duration.ofMillis(50), 10, 16, strength -> tenMillis));
+        assertEquals(13, BCryptStrengthCalibrator.calibrate(Duration.ofMillis(80), 10, 16, strength -> tenMillis));
+    }
+
+    @Test
+    void staysWithinBounds() {
+        assertEquals(10, BCryptStrengthCalibrator.calibrate(Duration.ofMillis(50), 10, 16,
+                strength -> Duration.ofMillis(200).toNanos()));
+        assertEquals(16, BCryptStrengthCalibrator.calibrate(Duration.ofSeconds(10), 10, 16,
+                strength -> Duration.ofMillis(1).toNanos()));
+    }
+}
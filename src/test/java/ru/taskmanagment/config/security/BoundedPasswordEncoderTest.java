@@ -0,0 +1,91 @@
+package ru.taskmanagment.config.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.NoOpPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import ru.taskmanagment.exception.PasswordHashingOverloadedException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BoundedPasswordEncoderTest {
+
+    @Test
+    @SuppressWarnings("deprecation")
+    void hashesOnCallerThreadAndRecordsLatency() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(NoOpPasswordEncoder.getInstance(), 1,
+                Duration.ZERO, registry);
+
+        assertEquals("secret", encoder.encode("secret"));
+        assertTrue(encoder.matches("secret", "secret"));
+
+        assertEquals(1, registry.get("password.hash").tag("operation", "matches").timer().count());
+        assertEquals(0.0, registry.get("password.hash.active").gauge().value());
+    }
+
+    @Test
+    void rejectsRightAwayWhenAllPermitsAreTaken() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(new BlockingEncoder(started, release), 1,
+                Duration.ZERO, registry);
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("a"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        assertEquals(1.0, registry.get("password.hash.active").gauge().value());
+
+        assertThrows(PasswordHashingOverloadedException.class, () -> encoder.encode("b"));
+        assertEquals(1.0, registry.get("password.hash.rejected").counter().count());
+
+        release.countDown();
+        assertEquals("a", running.get(5, TimeUnit.SECONDS));
+        assertEquals("c", encoder.encode("c"));
+    }
+
+    @Test
+    void releasesPermitWhenDelegateFails() {
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(new FailingEncoder(), 1, Duration.ZERO,
+                new SimpleMeterRegistry());
+
+        assertThrows(IllegalArgumentException.class, () -> encoder.encode("a"));
+        assertThrows(IllegalArgumentException.class, () -> encoder.encode("b"));
+    }
+
+    private record BlockingEncoder(CountDownLatch started, CountDownLatch release) implements PasswordEncoder {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return rawPassword.toString();
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return rawPassword.toString().equals(encodedPassword);
+        }
+    }
+
+    private static class FailingEncoder implements PasswordEncoder {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            throw new IllegalArgumentException("bad salt");
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            throw new IllegalArgumentException("bad salt");
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package ru.taskmanagment.config.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PasswordEncoderConfigTest {
+
+    @Test
+    void verifiesLegacyHashesAndFlagsThemForUpgrade() {
+        PasswordEncoder encoder = new PasswordEncoderConfig().passwordEncoder(5, Duration.ofMillis(50), 4, 16,
+                1, Duration.ofSeconds(5), new SimpleMeterRegistry());
+        String legacy = new BCryptPasswordEncoder(5).encode("secret");
+        String weaker = "{bcrypt}" + new BCryptPasswordEncoder(4).encode("secret");
+        String current = encoder.encode("secret");
+
+        assertTrue(current.startsWith("{bcrypt}$2a$05$"));
+        assertTrue(encoder.matches("secret", legacy));
+        assertTrue(encoder.matches("secret", weaker));
+        assertTrue(encoder.matches("secret", current));
+        assertTrue(encoder.upgradeEncoding(legacy));
+        assertTrue(encoder.upgradeEncoding(weaker));
+        assertFalse(encoder.upgradeEncoding(current));
+    }
+}
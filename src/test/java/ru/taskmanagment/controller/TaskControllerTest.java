@@ -0,0 +1,177 @@
+package ru.taskmanagment.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import ru.taskmanagment.entity.Task;
+import ru.taskmanagment.enumClass.Priority;
+import ru.taskmanagment.enumClass.Status;
+import ru.taskmanagment.exception.PreconditionFailedException;
+import ru.taskmanagment.payload.rq.TaskFilterRq;
+import ru.taskmanagment.payload.rs.CursorPageRs;
+import ru.taskmanagment.payload.rs.TaskRs;
+import ru.taskmanagment.payload.rs.TaskViewRs;
+import ru.taskmanagment.service.TaskArchiveService;
+import ru.taskmanagment.service.TaskService;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+public class TaskControllerTest {
+    @Mock
+    private TaskService taskService;
+
+    @Mock
+    private TaskArchiveService taskArchiveService;
+
+    @InjectMocks
+    private TaskController taskController;
+
+    private MockMvc mockMvc;
+
+    private final TaskViewRs archived =
+            new TaskViewRs(3L, "Done", 1L, "description", Status.COMPLETED, Priority.LOW, 2L, 1L);
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(taskController).build();
+    }
+
+    @Test
+    void listWithIncludeArchivedReturnsArchivedTasks() throws Exception {
+        when(taskService.getTaskPage(isNull(), isNull(), any())).thenReturn(new CursorPageRs<>(List.of(archived), null));
+
+        mockMvc.perform(get("/tasks").param("includeArchived", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(3))
+                .andExpect(jsonPath("$.items[0].status").value("COMPLETED"));
+
+        ArgumentCaptor<TaskFilterRq> filter = ArgumentCaptor.forClass(TaskFilterRq.class);
+        verify(taskService).getTaskPage(isNull(), isNull(), filter.capture());
+        assertTrue(filter.getValue().isIncludeArchived());
+    }
+
+    @Test
+    void detailWithIncludeArchivedReturnsArchivedTask() throws Exception {
+        when(taskArchiveService.isArchived(3L)).thenReturn(true);
+        when(taskArchiveService.getTaskView(3L)).thenReturn(archived);
+
+        mockMvc.perform(get("/tasks/{id}", 3).param("includeArchived", "true"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", TaskService.eTagOf(archived)))
+                .andExpect(jsonPath("$.id").value(3))
+                .andExpect(jsonPath("$.title").value("Done"));
+
+        verify(taskService, never()).getTaskView(anyLong());
+    }
+
+    @Test
+    void createResponseLeavesCommentsOut() throws Exception {
+        Task task = new Task();
+        task.setId(9L);
+        task.setTitle("New");
+        task.setStatus(Status.PENDING);
+        task.setPriority(Priority.HIGH);
+        task.setCommentCount(0L);
+        when(taskService.createTask(any())).thenReturn(TaskRs.toTaskRs(task));
+
+        mockMvc.perform(post("/tasks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"New\",\"description\":\"description\",\"status\":\"PENDING\",\"priority\":\"HIGH\"}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(9))
+                .andExpect(jsonPath("$.commentCount").value(0))
+                .andExpect(jsonPath("$.comments").doesNotExist());
+    }
+
+    @Test
+    void detailWithoutIncludeArchivedSkipsArchive() throws Exception {
+        TaskViewRs live = new TaskViewRs(5L, "Live", 1L, "description", Status.PENDING, Priority.HIGH, 0L, 0L);
+        when(taskService.getTaskETag(5L)).thenReturn(TaskService.eTagOf(live));
+        when(taskService.getTaskView(5L)).thenReturn(live);
+
+        mockMvc.perform(get("/tasks/{id}", 5))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(5));
+
+        verify(taskArchiveService, never()).isArchived(anyLong());
+    }
+
+    @Test
+    void detailAnswersNotModifiedWithoutLoadingTaskWhenETagMatches() throws Exception {
+        when(taskService.getTaskETag(5L)).thenReturn("\"2-1\"");
+
+        mockMvc.perform(get("/tasks/{id}", 5).header(HttpHeaders.IF_NONE_MATCH, "\"2-1\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"2-1\""))
+                .andExpect(content().string(""));
+
+        verify(taskService, never()).getTaskView(anyLong());
+    }
+
+    @Test
+    void detailWithStaleETagReturnsTaskAndCurrentETag() throws Exception {
+        TaskViewRs live = new TaskViewRs(5L, "Live", 1L, "description", Status.PENDING, Priority.HIGH, 2L, 1L);
+        when(taskService.getTaskETag(5L)).thenReturn(TaskService.eTagOf(live));
+        when(taskService.getTaskView(5L)).thenReturn(live);
+
+        mockMvc.perform(get("/tasks/{id}", 5).header(HttpHeaders.IF_NONE_MATCH, "\"2-0\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"2-1\""))
+                .andExpect(jsonPath("$.id").value(5));
+    }
+
+    @Test
+    void patchChecksVersionFromIfMatchIgnoringCommentCount() throws Exception {
+        TaskViewRs patched = new TaskViewRs(5L, "Live", 1L, "description", Status.COMPLETED, Priority.HIGH, 4L, 7L);
+        when(taskService.patchTask(eq(5L), eq(3L), any())).thenReturn(patched);
+
+        mockMvc.perform(patch("/tasks/{id}", 5)
+                        .header(HttpHeaders.IF_MATCH, "\"3-6\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"COMPLETED\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"4-7\""));
+    }
+
+    @Test
+    void patchWithStaleOrUnreadableIfMatchFailsPrecondition() throws Exception {
+        when(taskService.patchTask(eq(5L), eq(2L), any()))
+                .thenThrow(new PreconditionFailedException("Task 5 has changed"));
+
+        mockMvc.perform(patch("/tasks/{id}", 5)
+                        .header(HttpHeaders.IF_MATCH, "\"2-6\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"New title\"}"))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(patch("/tasks/{id}", 5)
+                        .header(HttpHeaders.IF_MATCH, "\"abc\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"New title\"}"))
+                .andExpect(status().isPreconditionFailed());
+    }
+}
@@ -0,0 +1,142 @@
+package ru.taskmanagment.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import ru.taskmanagment.enumClass.TaskEventType;
+import ru.taskmanagment.payload.rs.TaskEventRs;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class TaskFeedControllerTest {
+    @Mock
+    private WebSocketSession session;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final Queue<Runnable> scheduled = new ArrayDeque<>();
+
+    private TaskFeedController taskFeedController;
+
+    @BeforeEach
+    void setUp() {
+        taskFeedController = new TaskFeedController(objectMapper, scheduled::add);
+        lenient().when(session.getId()).thenReturn("s1");
+    }
+
+    @Test
+    void repeatedEventsForOneTaskAreCoalescedUntilDrained() throws IOException {
+        taskFeedController.afterConnectionEstablished(session);
+
+        taskFeedController.onTaskEvent(new TaskEventRs(TaskEventType.TASK_CREATED, 1L, null, 5L));
+        taskFeedController.onTaskEvent(new TaskEventRs(TaskEventType.TASK_UPDATED, 1L, null, 5L));
+        taskFeedController.onTaskEvent(new TaskEventRs(TaskEventType.TASK_UPDATED, 2L, null, 5L));
+        taskFeedController.onTaskEvent(new TaskEventRs(TaskEventType.TASK_DELETED, 2L, null, 5L));
+        runScheduled();
+
+        assertEquals(List.of(
+                new TaskEventRs(TaskEventType.TASK_CREATED, 1L, null, 5L),
+                new TaskEventRs(TaskEventType.TASK_DELETED, 2L, null, 5L)), sent());
+    }
+
+    @Test
+    void overflowReplacesBacklogWithSingleResync() throws IOException {
+        taskFeedController.afterConnectionEstablished(session);
+
+        for (long taskId = 1; taskId <= 257; taskId++) {
+            taskFeedController.onTaskEvent(new TaskEventRs(TaskEventType.TASK_UPDATED, taskId, null, 5L));
+        }
+        runScheduled();
+
+        assertEquals(List.of(TaskEventRs.resync()), sent());
+    }
+
+    @Test
+    void onlyOneDrainIsScheduledAndItPicksUpEventsQueuedWhileSending() throws IOException {
+        taskFeedController.afterConnectionEstablished(session);
+        TaskEventRs first = new TaskEventRs(TaskEventType.TASK_UPDATED, 1L, null, 5L);
+        TaskEventRs late = new TaskEventRs(TaskEventType.TASK_UPDATED, 2L, null, 5L);
+        doAnswer(invocation -> {
+            if (invocation.<TextMessage>getArgument(0).getPayload().equals(objectMapper.writeValueAsString(first))) {
+                taskFeedController.onTaskEvent(late);
+            }
+            return null;
+        }).when(session).sendMessage(any());
+
+        taskFeedController.onTaskEvent(first);
+        taskFeedController.onTaskEvent(new TaskEventRs(TaskEventType.TASK_UPDATED, 1L, null, 5L));
+        assertEquals(1, scheduled.size());
+        runScheduled();
+
+        assertEquals(List.of(first, late), sent());
+        assertTrue(scheduled.isEmpty());
+
+        taskFeedController.onTaskEvent(first);
+        assertEquals(1, scheduled.size());
+    }
+
+    @Test
+    void userFilterAppliesToCommentEventsOfOwnedTasks() throws IOException {
+        when(session.getUri()).thenReturn(URI.create("ws://localhost/ws/tasks?userId=5"));
+        taskFeedController.afterConnectionEstablished(session);
+
+        taskFeedController.onTaskEvent(new TaskEventRs(TaskEventType.COMMENT_CREATED, 1L, 10L, 5L));
+        taskFeedController.onTaskEvent(new TaskEventRs(TaskEventType.COMMENT_CREATED, 2L, 11L, 6L));
+        runScheduled();
+
+        assertEquals(List.of(new TaskEventRs(TaskEventType.COMMENT_CREATED, 1L, 10L, 5L)), sent());
+    }
+
+    @Test
+    void failedSendDropsSubscriber() throws IOException {
+        taskFeedController.afterConnectionEstablished(session);
+        doAnswer(invocation -> {
+            throw new IOException("broken pipe");
+        }).when(session).sendMessage(any());
+
+        taskFeedController.onTaskEvent(new TaskEventRs(TaskEventType.TASK_UPDATED, 1L, null, 5L));
+        runScheduled();
+        taskFeedController.onTaskEvent(new TaskEventRs(TaskEventType.TASK_UPDATED, 2L, null, 5L));
+
+        verify(session).close(any());
+        assertTrue(scheduled.isEmpty());
+    }
+
+    private void runScheduled() {
+        Runnable task;
+        while ((task = scheduled.poll()) != null) {
+            task.run();
+        }
+    }
+
+    private List<TaskEventRs> sent() throws IOException {
+        ArgumentCaptor<TextMessage> messages = ArgumentCaptor.forClass(TextMessage.class);
+        verify(session, atLeastOnce()).sendMessage(messages.capture());
+        List<TaskEventRs> events = new ArrayList<>();
+        for (TextMessage message : messages.getAllValues()) {
+            events.add(objectMapper.readValue(message.getPayload(), TaskEventRs.class));
+        }
+        return events;
+    }
+}
@@ -0,0 +1,95 @@
+package ru.taskmanagment.seed;
+
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.dialect.sequence.SequenceSupport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SchemaMigratorTest {
+    private static final SchemaMigrator.SequenceMapping ITEMS = new SchemaMigrator.SequenceMapping("item", "item_seq", 50);
+
+    private final SequenceSupport sequenceSupport = new H2Dialect().getSequenceSupport();
+    private JdbcTemplate jdbcTemplate;
+    private SchemaMigrator schemaMigrator;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:schema_migrator;DB_CLOSE_DELAY=-1", "sa", ""));
+        jdbcTemplate.execute("CREATE TABLE item (id BIGINT PRIMARY KEY)");
+        schemaMigrator = new SchemaMigrator(jdbcTemplate, null, null, null);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP TABLE item");
+        jdbcTemplate.execute("DROP SEQUENCE IF EXISTS item_seq");
+    }
+
+    @Test
+    void sequenceBehindExistingIdsIsMovedPastThem() {
+        jdbcTemplate.execute("CREATE SEQUENCE item_seq START WITH 1 INCREMENT BY 50");
+        jdbcTemplate.execute("INSERT INTO item VALUES (1), (420)");
+
+        schemaMigrator.alignSequence(sequenceSupport, ITEMS);
+
+        assertEquals(421L, nextValue());
+        assertEquals("50", increment());
+    }
+
+    @Test
+    void sequenceAheadOfIdsWithMatchingIncrementIsLeftAlone() {
+        jdbcTemplate.execute("CREATE SEQUENCE item_seq START WITH 1000 INCREMENT BY 50");
+        jdbcTemplate.execute("INSERT INTO item VALUES (7)");
+
+        schemaMigrator.alignSequence(sequenceSupport, ITEMS);
+
+        assertEquals(1050L, nextValue());
+    }
+
+    @Test
+    void emptyTableWithMatchingIncrementDoesNotTouchSequence() {
+        jdbcTemplate.execute("CREATE SEQUENCE item_seq START WITH 1 INCREMENT BY 50");
+
+        schemaMigrator.alignSequence(sequenceSupport, ITEMS);
+
+        assertEquals(1L, nextValue());
+    }
+
+    @Test
+    void changedAllocationSizeResetsIncrementPastHandedOutRange() {
+        jdbcTemplate.execute("CREATE SEQUENCE item_seq START WITH 1 INCREMENT BY 10");
+        assertEquals(1L, nextValue());
+        jdbcTemplate.execute("INSERT INTO item VALUES (3)");
+
+        schemaMigrator.alignSequence(sequenceSupport, ITEMS);
+
+        assertEquals("50", increment());
+        assertEquals(11L, nextValue());
+        assertEquals(61L, nextValue());
+    }
+
+    @Test
+    void changedAllocationSizeOnEmptyTableStillResetsIncrement() {
+        jdbcTemplate.execute("CREATE SEQUENCE item_seq START WITH 1 INCREMENT BY 1");
+
+        schemaMigrator.alignSequence(sequenceSupport, ITEMS);
+
+        assertEquals("50", increment());
+        assertEquals(1L, nextValue());
+        assertEquals(51L, nextValue());
+    }
+
+    private Long nextValue() {
+        return jdbcTemplate.queryForObject(sequenceSupport.getSequenceNextValString("item_seq"), Long.class);
+    }
+
+    private String increment() {
+        return jdbcTemplate.queryForObject(
+                "SELECT increment FROM information_schema.sequences WHERE LOWER(sequence_name) = 'item_seq'", String.class);
+    }
+}
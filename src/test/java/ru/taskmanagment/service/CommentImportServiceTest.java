@@ -0,0 +1,202 @@
+package ru.taskmanagment.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.taskmanagment.entity.Comment;
+import ru.taskmanagment.entity.ImportCheckpoint;
+import ru.taskmanagment.enumClass.BulkItemStatus;
+import ru.taskmanagment.enumClass.TaskEventType;
+import ru.taskmanagment.payload.rs.BulkItemRs;
+import ru.taskmanagment.payload.rs.BulkResultRs;
+import ru.taskmanagment.payload.rs.TaskEventRs;
+import ru.taskmanagment.repository.CommentRepository;
+import ru.taskmanagment.repository.ImportCheckpointRepository;
+import ru.taskmanagment.repository.TaskRepository;
+import ru.taskmanagment.repository.UserRepository;
+import ru.taskmanagment.validation.ValidationUtil;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class CommentImportServiceTest {
+    @Mock
+    private CommentRepository commentRepository;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ImportCheckpointRepository importCheckpointRepository;
+
+    @Mock
+    private TaskService taskService;
+
+    @Mock
+    private SearchIndexService searchIndexService;
+
+    @Mock
+    private OutboxService outboxService;
+
+    @Mock
+    private ValidationUtil validationUtil;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @InjectMocks
+    private CommentImportService commentImportService;
+
+    private final AtomicLong ids = new AtomicLong(100);
+
+    @BeforeEach
+    void setUp() {
+        doAnswer(invocation -> {
+            Consumer<TransactionStatus> action = invocation.getArgument(0);
+            action.accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        when(commentRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Comment> comments = invocation.getArgument(0);
+            comments.forEach(comment -> comment.setId(ids.incrementAndGet()));
+            return comments;
+        });
+    }
+
+    @Test
+    void resumeWithSameImportIdSkipsCommittedLines() throws IOException {
+        when(importCheckpointRepository.findById("import-1"))
+                .thenReturn(Optional.of(new ImportCheckpoint("import-1", 1)));
+        when(taskRepository.findOwnersByIds(anyCollection())).thenReturn(List.of(owner(1L, 5L)));
+
+        BulkResultRs result = commentImportService.importComments(
+                ndjson(line(1L, "first"), line(1L, "second"), line(1L, "third")), "import-1");
+
+        assertEquals(1, result.getCreated());
+        assertEquals(0, result.getFailed());
+        assertEquals(2L, result.getCheckpoint());
+        assertEquals(2L, result.getItems().get(0).getIndex());
+        ArgumentCaptor<List<Comment>> saved = listCaptor();
+        verify(commentRepository).saveAll(saved.capture());
+        assertEquals(List.of("third"), saved.getValue().stream().map(Comment::getContent).toList());
+        ArgumentCaptor<ImportCheckpoint> checkpoint = ArgumentCaptor.forClass(ImportCheckpoint.class);
+        verify(importCheckpointRepository).save(checkpoint.capture());
+        assertEquals(2L, checkpoint.getValue().getLastLine());
+    }
+
+    @Test
+    void badLineFailsOnlyItself() throws IOException {
+        when(taskRepository.findOwnersByIds(anyCollection())).thenReturn(List.of(owner(1L, 5L)));
+
+        BulkResultRs result = commentImportService.importComments(
+                ndjson(line(1L, "first"), line(99L, "orphan"), "{not json", line(1L, "last")), null);
+
+        assertEquals(2, result.getCreated());
+        assertEquals(2, result.getFailed());
+        assertNull(result.getCheckpoint());
+        List<BulkItemRs> items = result.getItems();
+        assertEquals(List.of(0L, 1L, 2L, 3L), items.stream().map(BulkItemRs::getIndex).toList());
+        assertEquals(BulkItemStatus.CREATED, statusOf(items, 0));
+        assertEquals("Task with id 99 not found", errorOf(items, 1));
+        assertEquals(BulkItemStatus.FAILED, statusOf(items, 2));
+        assertEquals(BulkItemStatus.CREATED, statusOf(items, 3));
+        verify(taskService).adjustCommentCount(1L, 2L);
+        verify(outboxService).appendAll(List.of(
+                new TaskEventRs(TaskEventType.COMMENT_CREATED, 1L, item(items, 0).getId(), 5L),
+                new TaskEventRs(TaskEventType.COMMENT_CREATED, 1L, item(items, 3).getId(), 5L)));
+    }
+
+    @Test
+    void duplicateContentInsideChunkIsRejected() throws IOException {
+        when(taskRepository.findOwnersByIds(anyCollection())).thenReturn(List.of(owner(1L, 5L)));
+
+        BulkResultRs result = commentImportService.importComments(
+                ndjson(line(1L, "same"), line(1L, "same")), null);
+
+        assertEquals(1, result.getCreated());
+        assertEquals(BulkItemStatus.CREATED, statusOf(result.getItems(), 0));
+        assertEquals("Comment with the same content already exists", errorOf(result.getItems(), 1));
+        ArgumentCaptor<Collection<byte[]>> hashes = collectionCaptor();
+        verify(commentRepository).findContentByContentHashIn(hashes.capture());
+        assertEquals(1, hashes.getValue().size());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> ArgumentCaptor<List<T>> listCaptor() {
+        return ArgumentCaptor.forClass(List.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> ArgumentCaptor<Collection<T>> collectionCaptor() {
+        return ArgumentCaptor.forClass(Collection.class);
+    }
+
+    private static TaskRepository.OwnerView owner(Long id, Long userId) {
+        return new TaskRepository.OwnerView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Long getUserId() {
+                return userId;
+            }
+        };
+    }
+
+    private static BulkItemStatus statusOf(List<BulkItemRs> items, long index) {
+        return item(items, index).getStatus();
+    }
+
+    private static String errorOf(List<BulkItemRs> items, long index) {
+        return item(items, index).getError();
+    }
+
+    private static BulkItemRs item(List<BulkItemRs> items, long index) {
+        return items.stream().filter(item -> item.getIndex() == index).findFirst().orElseThrow();
+    }
+
+    private static String line(Long taskId, String content) {
+        return String.format("{\"taskId\":%d,\"content\":\"%s\"}", taskId, content);
+    }
+
+    private static InputStream ndjson(String... lines) {
+        return new ByteArrayInputStream(String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+    }
+}
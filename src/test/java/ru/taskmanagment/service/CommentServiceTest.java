@@ -0,0 +1,162 @@
+package ru.taskmanagment.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import ru.taskmanagment.entity.Comment;
+import ru.taskmanagment.enumClass.TaskEventType;
+import ru.taskmanagment.exception.DuplicateCommentException;
+import ru.taskmanagment.exception.TaskNotFoundException;
+import ru.taskmanagment.payload.rq.CommentRq;
+import ru.taskmanagment.payload.rs.CommentRs;
+import ru.taskmanagment.payload.rs.CursorPageRs;
+import ru.taskmanagment.payload.rs.TaskEventRs;
+import ru.taskmanagment.repository.ArchivedCommentRepository;
+import ru.taskmanagment.repository.CommentRepository;
+import ru.taskmanagment.util.ContentHashUtil;
+import ru.taskmanagment.util.CursorUtil;
+
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class CommentServiceTest {
+    @Mock
+    private CommentRepository commentRepository;
+
+    @Mock
+    private TaskService taskService;
+
+    @Mock
+    private SearchIndexService searchIndexService;
+
+    @Mock
+    private OutboxService outboxService;
+
+    @Mock
+    private TaskArchiveService taskArchiveService;
+
+    @Mock
+    private ArchivedCommentRepository archivedCommentRepository;
+
+    @InjectMocks
+    private CommentService commentService;
+
+    @Test
+    void getTaskComments() {
+        CommentRs first = new CommentRs(3L, 1L, 9L, "first", 0L);
+        CommentRs second = new CommentRs(8L, 1L, 9L, "second", 0L);
+        when(commentRepository.findPageByTaskId(9L, 0L, Limit.of(2))).thenReturn(Arrays.asList(first, second));
+
+        CursorPageRs<CommentRs> page = commentService.getTaskComments(9L, null, 1, false);
+
+        assertEquals(1, page.getItems().size());
+        assertEquals(3L, CursorUtil.decode(page.getNextCursor()));
+        verifyNoInteractions(taskService);
+    }
+
+    @Test
+    void getTaskCommentsLast() {
+        CommentRs comment = new CommentRs(8L, 1L, 9L, "second", 0L);
+        when(commentRepository.findPageByTaskId(9L, 3L, Limit.of(11))).thenReturn(List.of(comment));
+
+        CursorPageRs<CommentRs> page = commentService.getTaskComments(9L, CursorUtil.encode(3L), 10, false);
+
+        assertEquals(1, page.getItems().size());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void getTaskCommentsOfMissingTask() {
+        when(commentRepository.findPageByTaskId(9L, 0L, Limit.of(51))).thenReturn(List.of());
+        doThrow(new TaskNotFoundException("Task with id 9 not found")).when(taskService).checkTaskExists(9L);
+
+        assertThrows(TaskNotFoundException.class, () -> commentService.getTaskComments(9L, null, null, false));
+        verify(taskService).checkTaskExists(9L);
+    }
+
+    @Test
+    void getTaskCommentsOfArchivedTaskReadsArchive() {
+        CommentRs archived = new CommentRs(4L, 1L, 9L, "archived", 0L);
+        when(commentRepository.findPageByTaskId(9L, 0L, Limit.of(51))).thenReturn(List.of());
+        when(taskArchiveService.isArchived(9L)).thenReturn(true);
+        when(archivedCommentRepository.findPageByTaskId(9L, 0L, Limit.of(51))).thenReturn(List.of(archived));
+
+        CursorPageRs<CommentRs> page = commentService.getTaskComments(9L, null, null, true);
+
+        assertEquals(List.of(archived), page.getItems());
+        assertNull(page.getNextCursor());
+        verify(taskService, never()).checkTaskExists(anyLong());
+    }
+
+    @Test
+    void getTaskCommentsWithoutIncludeArchivedSkipsArchive() {
+        when(commentRepository.findPageByTaskId(9L, 0L, Limit.of(51))).thenReturn(List.of());
+        doThrow(new TaskNotFoundException("Task with id 9 not found")).when(taskService).checkTaskExists(9L);
+
+        assertThrows(TaskNotFoundException.class, () -> commentService.getTaskComments(9L, null, null, false));
+        verifyNoInteractions(taskArchiveService, archivedCommentRepository);
+    }
+
+    @Test
+    void createCommentRejectsDuplicateContent() {
+        CommentRq commentRq = new CommentRq(1L, 9L, "same text");
+        when(commentRepository.existsDuplicate(ContentHashUtil.of("same text"), 0L)).thenReturn(true);
+
+        assertThrows(DuplicateCommentException.class, () -> commentService.createComment(commentRq));
+        verify(commentRepository, never()).save(any());
+    }
+
+    @Test
+    void createCommentMapsConcurrentDuplicateToConflict() {
+        CommentRq commentRq = new CommentRq(1L, 9L, "same text");
+        when(commentRepository.save(any(Comment.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        doThrow(new DataIntegrityViolationException("could not execute statement", new SQLException(
+                "Unique index or primary key violation: \"PUBLIC.UK_COMMENT_CONTENT_HASH_INDEX_C ON PUBLIC.COMMENT(CONTENT_HASH)\"")))
+                .when(commentRepository).flush();
+
+        assertThrows(DuplicateCommentException.class, () -> commentService.createComment(commentRq));
+        verify(taskService, never()).adjustCommentCount(any(), anyLong());
+    }
+
+    @Test
+    void createCommentIncrementsTaskCommentCount() {
+        CommentRq commentRq = new CommentRq(1L, 9L, "text");
+        when(commentRepository.save(any(Comment.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        commentService.createComment(commentRq);
+
+        verify(taskService).adjustCommentCount(9L, 1);
+    }
+
+    @Test
+    void deleteCommentDecrementsTaskCommentCount() {
+        Comment comment = new Comment();
+        comment.setId(3L);
+        comment.setTaskId(9L);
+        when(commentRepository.findById(3L)).thenReturn(Optional.of(comment));
+        when(taskService.getOwnerId(9L)).thenReturn(5L);
+
+        commentService.deleteComment(3L);
+
+        verify(taskService).adjustCommentCount(9L, -1);
+        verify(outboxService).append(new TaskEventRs(TaskEventType.COMMENT_DELETED, 9L, 3L, 5L));
+    }
+}
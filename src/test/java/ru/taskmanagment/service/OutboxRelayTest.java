@@ -0,0 +1,179 @@
+package ru.taskmanagment.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.taskmanagment.entity.OutboxEvent;
+import ru.taskmanagment.enumClass.TaskEventType;
+import ru.taskmanagment.payload.rs.TaskEventRs;
+import ru.taskmanagment.repository.OutboxEventRepository;
+import ru.taskmanagment.util.Constant;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class OutboxRelayTest {
+    private static final Limit BATCH = Limit.of(Constant.BULK_CHUNK_SIZE);
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final TransactionStatus transaction = new SimpleTransactionStatus();
+
+    private OutboxRelay outboxRelay;
+
+    @BeforeEach
+    void setUp() {
+        when(transactionManager.getTransaction(any())).thenReturn(transaction);
+        outboxRelay = new OutboxRelay(outboxEventRepository, eventPublisher,
+                new TransactionTemplate(transactionManager), new SyncTaskExecutor());
+        ReflectionTestUtils.setField(outboxRelay, "gapTimeout", Duration.ofSeconds(60));
+        ReflectionTestUtils.setField(outboxRelay, "retention", Duration.ofHours(1));
+    }
+
+    @Test
+    void firstPassStartsAfterNewestEventAndTailsInIdOrderWithoutDeleting() {
+        List<OutboxEvent> batch = List.of(event(11L, 10L), event(12L, 20L), event(13L, 10L));
+        when(outboxEventRepository.findMaxId()).thenReturn(10L);
+        when(outboxEventRepository.findAfter(10L, BATCH)).thenReturn(batch);
+        when(outboxEventRepository.findAfter(13L, BATCH)).thenReturn(List.of());
+
+        assertEquals(3, outboxRelay.relayBatch());
+        assertEquals(0, outboxRelay.relayBatch());
+
+        InOrder order = inOrder(eventPublisher);
+        order.verify(eventPublisher).publishEvent(batch.get(0).toTaskEventRs());
+        order.verify(eventPublisher).publishEvent(batch.get(1).toTaskEventRs());
+        order.verify(eventPublisher).publishEvent(batch.get(2).toTaskEventRs());
+        verify(outboxEventRepository).findMaxId();
+        verify(outboxEventRepository, never()).deleteAllInBatch(any());
+        verify(outboxEventRepository, never()).findByIdInOrderById(any());
+    }
+
+    @Test
+    void idSkippedByUncommittedWriterIsDeliveredOnceItCommits() {
+        OutboxEvent first = event(1L, 10L);
+        OutboxEvent late = event(2L, 20L);
+        OutboxEvent third = event(3L, 30L);
+        when(outboxEventRepository.findMaxId()).thenReturn(null);
+        when(outboxEventRepository.findAfter(0L, BATCH)).thenReturn(List.of(first, third));
+        when(outboxEventRepository.findAfter(3L, BATCH)).thenReturn(List.of());
+        when(outboxEventRepository.findByIdInOrderById(List.of(2L))).thenReturn(List.of(), List.of(late));
+
+        outboxRelay.relayBatch();
+        outboxRelay.relayBatch();
+        outboxRelay.relayBatch();
+        outboxRelay.relayBatch();
+
+        InOrder order = inOrder(eventPublisher);
+        order.verify(eventPublisher).publishEvent(first.toTaskEventRs());
+        order.verify(eventPublisher).publishEvent(third.toTaskEventRs());
+        order.verify(eventPublisher).publishEvent(late.toTaskEventRs());
+        verify(outboxEventRepository, times(2)).findByIdInOrderById(any());
+    }
+
+    @Test
+    void gapIsForgottenAfterTimeout() {
+        ReflectionTestUtils.setField(outboxRelay, "gapTimeout", Duration.ZERO);
+        when(outboxEventRepository.findMaxId()).thenReturn(0L);
+        when(outboxEventRepository.findAfter(0L, BATCH)).thenReturn(List.of(event(2L, 20L)));
+        when(outboxEventRepository.findAfter(2L, BATCH)).thenReturn(List.of());
+        when(outboxEventRepository.findByIdInOrderById(List.of(1L))).thenReturn(List.of());
+
+        outboxRelay.relayBatch();
+        outboxRelay.relayBatch();
+        outboxRelay.relayBatch();
+
+        verify(outboxEventRepository).findByIdInOrderById(any());
+    }
+
+    @Test
+    void listenerFailureKeepsCursorOnLastDeliveredEvent() {
+        OutboxEvent first = event(1L, 10L);
+        OutboxEvent second = event(2L, 20L);
+        when(outboxEventRepository.findMaxId()).thenReturn(0L);
+        when(outboxEventRepository.findAfter(0L, BATCH)).thenReturn(List.of(first, second));
+        when(outboxEventRepository.findAfter(1L, BATCH)).thenReturn(List.of(second));
+        doNothing().when(eventPublisher).publishEvent(any(Object.class));
+        doThrow(new IllegalStateException("listener down")).doNothing()
+                .when(eventPublisher).publishEvent(second.toTaskEventRs());
+
+        outboxRelay.relay();
+        outboxRelay.relay();
+
+        verify(eventPublisher).publishEvent(first.toTaskEventRs());
+        verify(eventPublisher, times(2)).publishEvent(second.toTaskEventRs());
+        verify(outboxEventRepository).findAfter(1L, BATCH);
+    }
+
+    @Test
+    void wakeUpDrainsFullBatchesUntilCaughtUp() {
+        List<OutboxEvent> full = LongStream.rangeClosed(1, Constant.BULK_CHUNK_SIZE)
+                .mapToObj(id -> event(id, id))
+                .toList();
+        List<OutboxEvent> rest = List.of(event(Constant.BULK_CHUNK_SIZE + 1L, 1L));
+        when(outboxEventRepository.findMaxId()).thenReturn(0L);
+        when(outboxEventRepository.findAfter(anyLong(), any())).thenReturn(full, rest);
+        doNothing().when(eventPublisher).publishEvent(any(Object.class));
+
+        outboxRelay.wakeUp();
+
+        verify(outboxEventRepository).findAfter(0L, BATCH);
+        verify(outboxEventRepository).findAfter(Constant.BULK_CHUNK_SIZE, BATCH);
+        verify(eventPublisher, times(Constant.BULK_CHUNK_SIZE + 1)).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void purgeRemovesEventsOlderThanRetention() {
+        Instant before = Instant.now().minus(Duration.ofHours(1));
+        when(outboxEventRepository.deleteCreatedBefore(any())).thenReturn(3);
+
+        outboxRelay.purge();
+
+        ArgumentCaptor<Instant> cutoff = ArgumentCaptor.forClass(Instant.class);
+        verify(outboxEventRepository).deleteCreatedBefore(cutoff.capture());
+        assertFalse(cutoff.getValue().isBefore(before));
+        assertTrue(cutoff.getValue().isBefore(Instant.now().minus(Duration.ofHours(1)).plusSeconds(1)));
+        verify(transactionManager).commit(transaction);
+    }
+
+    private static OutboxEvent event(Long id, Long taskId) {
+        OutboxEvent event = OutboxEvent.of(new TaskEventRs(TaskEventType.TASK_UPDATED, taskId, null, null));
+        event.setId(id);
+        return event;
+    }
+}
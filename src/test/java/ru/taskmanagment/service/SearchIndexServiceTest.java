@@ -0,0 +1,106 @@
+package ru.taskmanagment.service;
+
+import org.apache.lucene.index.IndexWriter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+import ru.taskmanagment.entity.Task;
+import ru.taskmanagment.enumClass.Priority;
+import ru.taskmanagment.enumClass.Status;
+import ru.taskmanagment.payload.rs.CommentRs;
+import ru.taskmanagment.payload.rs.TaskViewRs;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SearchIndexServiceTest {
+    private SearchIndexService searchIndexService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        searchIndexService = new SearchIndexService("");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        searchIndexService.close();
+    }
+
+    @Test
+    void rebuildKeepsChangesMadeDuringTheScan() throws Exception {
+        searchIndexService.rebuild(
+                () -> {
+                    searchIndexService.indexTask(task(1L, "renamed"));
+                    searchIndexService.removeTask(2L);
+                    return Stream.of(view(1L, "original"), view(2L, "removed"));
+                },
+                Stream::<CommentRs>empty);
+
+        assertEquals(1, awaitHits("renamed", 1));
+        assertEquals(0, awaitHits("original", 0));
+        assertEquals(0, awaitHits("removed", 0));
+    }
+
+    @Test
+    void cleanlyClosedIndexIsReusedOnReopen(@TempDir Path directory) throws Exception {
+        SearchIndexService first = new SearchIndexService(directory.toString());
+        assertTrue(first.needsRebuild());
+        first.rebuild(() -> Stream.of(view(1L, "kept")), Stream::<CommentRs>empty);
+        first.close();
+
+        SearchIndexService reopened = new SearchIndexService(directory.toString());
+        try {
+            assertFalse(reopened.needsRebuild());
+        } finally {
+            reopened.close();
+        }
+    }
+
+    @Test
+    void indexLeftWithoutCleanCloseIsRebuilt(@TempDir Path directory) throws Exception {
+        SearchIndexService crashed = new SearchIndexService(directory.toString());
+        crashed.rebuild(() -> Stream.of(view(1L, "kept")), Stream::<CommentRs>empty);
+        crashed.indexTask(task(2L, "uncommitted"));
+        crashed.commit();
+        IndexWriter writer = (IndexWriter) ReflectionTestUtils.getField(crashed, "writer");
+        writer.rollback();
+        crashed.close();
+
+        SearchIndexService reopened = new SearchIndexService(directory.toString());
+        try {
+            assertFalse(reopened.isEmpty());
+            assertTrue(reopened.needsRebuild());
+        } finally {
+            reopened.close();
+        }
+    }
+
+    private long awaitHits(String query, long expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        long total = searchIndexService.search(query, 0, 10).getTotal();
+        while (total != expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+            total = searchIndexService.search(query, 0, 10).getTotal();
+        }
+        return total;
+    }
+
+    private static TaskViewRs view(Long id, String title) {
+        return new TaskViewRs(id, title, null, "description", Status.PENDING, Priority.LOW, 0L, 0L);
+    }
+
+    private static Task task(Long id, String title) {
+        Task task = new Task();
+        task.setId(id);
+        task.setTitle(title);
+        task.setDescription("description");
+        return task;
+    }
+}
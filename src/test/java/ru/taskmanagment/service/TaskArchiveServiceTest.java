@@ -0,0 +1,165 @@
+package ru.taskmanagment.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.taskmanagment.config.security.CacheConfig;
+import ru.taskmanagment.entity.Task;
+import ru.taskmanagment.enumClass.Priority;
+import ru.taskmanagment.enumClass.Status;
+import ru.taskmanagment.enumClass.TaskEventType;
+import ru.taskmanagment.exception.TaskNotFoundException;
+import ru.taskmanagment.payload.rs.TaskEventRs;
+import ru.taskmanagment.payload.rs.TaskViewRs;
+import ru.taskmanagment.repository.ArchivedCommentRepository;
+import ru.taskmanagment.repository.ArchivedTaskRepository;
+import ru.taskmanagment.repository.CommentRepository;
+import ru.taskmanagment.repository.TaskRepository;
+import ru.taskmanagment.util.Constant;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class TaskArchiveServiceTest {
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private CommentRepository commentRepository;
+
+    @Mock
+    private ArchivedTaskRepository archivedTaskRepository;
+
+    @Mock
+    private ArchivedCommentRepository archivedCommentRepository;
+
+    @Mock
+    private SearchIndexService searchIndexService;
+
+    @Mock
+    private OutboxService outboxService;
+
+    @Mock
+    private TaskSummaryService taskSummaryService;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private Cache cache;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private TaskArchiveService taskArchiveService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(taskArchiveService, "completedAfter", Duration.ofDays(30));
+    }
+
+    @Test
+    void archivesCompletedTasksOlderThanCutoffWithTheirComments() {
+        runTransactionsInline();
+        Task first = task(1L);
+        Task second = task(2L);
+        when(taskRepository.findArchivable(eq(Status.COMPLETED), any(), eq(Limit.of(Constant.BULK_CHUNK_SIZE))))
+                .thenReturn(List.of(first, second));
+        when(cacheManager.getCache(CacheConfig.TASKS)).thenReturn(cache);
+        LocalDateTime before = LocalDateTime.now().minusDays(30);
+
+        assertEquals(2, taskArchiveService.archiveCompletedTasks());
+
+        ArgumentCaptor<LocalDateTime> cutoff = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(taskRepository).findArchivable(eq(Status.COMPLETED), cutoff.capture(), any());
+        assertFalse(cutoff.getValue().isBefore(before));
+        assertTrue(cutoff.getValue().isBefore(LocalDateTime.now().minusDays(30).plusSeconds(1)));
+        List<Long> ids = List.of(1L, 2L);
+        verify(archivedTaskRepository).archiveTasks(ids);
+        verify(archivedCommentRepository).archiveComments(ids);
+        verify(commentRepository).deleteByTaskIds(ids);
+        verify(taskRepository).deleteByIds(ids);
+        verify(outboxService).appendAll(List.of(
+                TaskEventRs.of(TaskEventType.TASK_ARCHIVED, first),
+                TaskEventRs.of(TaskEventType.TASK_ARCHIVED, second)));
+    }
+
+    @Test
+    void archivingClearsSummaryCellsCacheAndSearchIndex() {
+        runTransactionsInline();
+        Task task = task(7L);
+        List<Task> tasks = List.of(task);
+        when(taskRepository.findArchivable(eq(Status.COMPLETED), any(), any())).thenReturn(tasks);
+        when(cacheManager.getCache(CacheConfig.TASKS)).thenReturn(cache);
+
+        taskArchiveService.archiveCompletedTasks();
+
+        verify(taskSummaryService).tasksRemoved(tasks);
+        verify(cache).evict(7L);
+        verify(searchIndexService).removeTask(7L);
+    }
+
+    @Test
+    void nothingToArchiveLeavesTablesAlone() {
+        runTransactionsInline();
+        when(taskRepository.findArchivable(eq(Status.COMPLETED), any(), any())).thenReturn(List.of());
+
+        assertEquals(0, taskArchiveService.archiveCompletedTasks());
+
+        verify(archivedTaskRepository, never()).archiveTasks(any());
+        verify(taskRepository, never()).deleteByIds(any());
+        verifyNoInteractions(taskSummaryService, outboxService);
+    }
+
+    @Test
+    void getTaskViewReadsArchivedTask() {
+        TaskViewRs view = new TaskViewRs(3L, "Done", 1L, "description", Status.COMPLETED, Priority.LOW, 2L, 1L);
+        when(archivedTaskRepository.findViewById(3L)).thenReturn(Optional.of(view));
+        when(archivedTaskRepository.findViewById(4L)).thenReturn(Optional.empty());
+
+        assertSame(view, taskArchiveService.getTaskView(3L));
+        assertThrows(TaskNotFoundException.class, () -> taskArchiveService.getTaskView(4L));
+    }
+
+    private void runTransactionsInline() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation -> {
+            TransactionCallback<?> callback = invocation.getArgument(0);
+            return callback.doInTransaction(null);
+        });
+    }
+
+    private static Task task(Long id) {
+        Task task = new Task();
+        task.setId(id);
+        task.setUserId(1L);
+        task.setStatus(Status.COMPLETED);
+        task.setPriority(Priority.MEDIUM);
+        return task;
+    }
+}
@@ -0,0 +1,182 @@
+package ru.taskmanagment.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.taskmanagment.entity.Task;
+import ru.taskmanagment.enumClass.BulkItemStatus;
+import ru.taskmanagment.enumClass.Priority;
+import ru.taskmanagment.enumClass.Status;
+import ru.taskmanagment.payload.rq.TaskRq;
+import ru.taskmanagment.payload.rs.BulkItemRs;
+import ru.taskmanagment.payload.rs.BulkResultRs;
+import ru.taskmanagment.repository.TaskRepository;
+import ru.taskmanagment.util.Constant;
+import ru.taskmanagment.validation.ValidationUtil;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class TaskImportServiceTest {
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private ValidationUtil validationUtil;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private SearchIndexService searchIndexService;
+
+    @Mock
+    private OutboxService outboxService;
+
+    @Mock
+    private TaskSummaryService taskSummaryService;
+
+    @InjectMocks
+    private TaskImportService taskImportService;
+
+    private final AtomicLong ids = new AtomicLong(100);
+
+    @BeforeEach
+    void setUp() {
+        doAnswer(invocation -> {
+            Consumer<TransactionStatus> action = invocation.getArgument(0);
+            action.accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        doAnswer(invocation -> {
+            if (invocation.<TaskRq>getArgument(0).getTitle() == null) {
+                throw new ConstraintViolationException("Title cannot be null", Set.of());
+            }
+            return null;
+        }).when(validationUtil).validate(any());
+    }
+
+    @Test
+    void itemsArePersistedInChunksOneTransactionEach() {
+        assignIds();
+        List<TaskRq> taskRqs = IntStream.rangeClosed(1, Constant.BULK_CHUNK_SIZE + 1)
+                .mapToObj(i -> taskRq("Task " + i))
+                .toList();
+
+        BulkResultRs result = taskImportService.importTasks(taskRqs);
+
+        assertEquals(Constant.BULK_CHUNK_SIZE + 1, result.getCreated());
+        ArgumentCaptor<List<Task>> saved = listCaptor();
+        verify(taskRepository, times(2)).saveAll(saved.capture());
+        assertEquals(List.of(Constant.BULK_CHUNK_SIZE, 1), saved.getAllValues().stream().map(List::size).toList());
+        verify(transactionTemplate, times(2)).executeWithoutResult(any());
+        verify(entityManager, times(2)).clear();
+        verify(outboxService, times(2)).appendAll(anyList());
+        assertEquals(LongStream.range(0, Constant.BULK_CHUNK_SIZE + 1).boxed().toList(),
+                result.getItems().stream().map(BulkItemRs::getIndex).toList());
+    }
+
+    @Test
+    void failingChunkOnlyFailsItsOwnItems() {
+        when(taskRepository.saveAll(anyList()))
+                .thenAnswer(invocation -> {
+                    List<Task> tasks = invocation.getArgument(0);
+                    tasks.forEach(task -> task.setId(ids.incrementAndGet()));
+                    return tasks;
+                })
+                .thenThrow(new IllegalStateException("connection lost"));
+        List<TaskRq> taskRqs = IntStream.rangeClosed(1, Constant.BULK_CHUNK_SIZE + 2)
+                .mapToObj(i -> taskRq("Task " + i))
+                .toList();
+
+        BulkResultRs result = taskImportService.importTasks(taskRqs);
+
+        assertEquals(Constant.BULK_CHUNK_SIZE, result.getCreated());
+        assertEquals(2, result.getFailed());
+        assertEquals(BulkItemStatus.CREATED, result.getItems().get(Constant.BULK_CHUNK_SIZE - 1).getStatus());
+        assertEquals("connection lost", result.getItems().get(Constant.BULK_CHUNK_SIZE).getError());
+        assertEquals("connection lost", result.getItems().get(Constant.BULK_CHUNK_SIZE + 1).getError());
+    }
+
+    @Test
+    void ndjsonResultKeepsInputOrderAroundRejectedLines() throws IOException {
+        assignIds();
+
+        BulkResultRs result = taskImportService.importTasks(ndjson(
+                line("First"), "{not json", line(null), "", line("Last")));
+
+        assertEquals(2, result.getCreated());
+        assertEquals(2, result.getFailed());
+        List<BulkItemRs> items = result.getItems();
+        assertEquals(List.of(0L, 1L, 2L, 4L), items.stream().map(BulkItemRs::getIndex).toList());
+        assertEquals(List.of(BulkItemStatus.CREATED, BulkItemStatus.FAILED, BulkItemStatus.FAILED, BulkItemStatus.CREATED),
+                items.stream().map(BulkItemRs::getStatus).toList());
+        assertEquals("Title cannot be null", items.get(2).getError());
+        verify(taskRepository).saveAll(anyList());
+    }
+
+    private void assignIds() {
+        when(taskRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Task> tasks = invocation.getArgument(0);
+            tasks.forEach(task -> task.setId(ids.incrementAndGet()));
+            return tasks;
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> ArgumentCaptor<List<T>> listCaptor() {
+        return ArgumentCaptor.forClass(List.class);
+    }
+
+    private static TaskRq taskRq(String title) {
+        TaskRq taskRq = new TaskRq();
+        taskRq.setTitle(title);
+        taskRq.setDescription("description");
+        taskRq.setStatus(Status.PENDING);
+        taskRq.setPriority(Priority.MEDIUM);
+        return taskRq;
+    }
+
+    private static String line(String title) {
+        return title == null
+                ? "{\"description\":\"description\",\"status\":\"PENDING\",\"priority\":\"MEDIUM\"}"
+                : String.format("{\"title\":\"%s\",\"description\":\"description\",\"status\":\"PENDING\",\"priority\":\"MEDIUM\"}", title);
+    }
+
+    private static InputStream ndjson(String... lines) {
+        return new ByteArrayInputStream(String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+    }
+}
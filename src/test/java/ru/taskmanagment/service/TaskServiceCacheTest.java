@@ -0,0 +1,152 @@
+package ru.taskmanagment.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import ru.taskmanagment.config.security.CacheConfig;
+import ru.taskmanagment.entity.Task;
+import ru.taskmanagment.enumClass.Priority;
+import ru.taskmanagment.enumClass.Status;
+import ru.taskmanagment.payload.rq.TaskPatchRq;
+import ru.taskmanagment.payload.rq.TaskRq;
+import ru.taskmanagment.payload.rq.TaskTransitionRq;
+import ru.taskmanagment.payload.rs.TaskViewRs;
+import ru.taskmanagment.repository.TaskRepository;
+import ru.taskmanagment.validation.ValidationUtil;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs {@link TaskService} behind the real cache configuration, so the {@code @Cacheable} and
+ * {@code @CacheEvict} annotations are exercised rather than bypassed.
+ */
+@SpringJUnitConfig(TaskServiceCacheTest.Config.class)
+public class TaskServiceCacheTest {
+    @Configuration
+    @Import({CacheConfig.class, TaskService.class, ObjectMapper.class})
+    static class Config {
+    }
+
+    @MockBean
+    private TaskRepository taskRepository;
+
+    @MockBean
+    private ValidationUtil validationUtil;
+
+    @MockBean
+    private SearchIndexService searchIndexService;
+
+    @MockBean
+    private OutboxService outboxService;
+
+    @MockBean
+    private TaskSummaryService taskSummaryService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Task task;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCache(CacheConfig.TASKS).clear();
+        task = new Task();
+        task.setId(1L);
+        task.setTitle("Task");
+        task.setDescription("description");
+        task.setStatus(Status.PENDING);
+        task.setPriority(Priority.LOW);
+        task.setVersion(4L);
+        when(taskRepository.findViewById(1L)).thenReturn(Optional.of(
+                new TaskViewRs(1L, "Task", null, "description", Status.PENDING, Priority.LOW, 4L, 0L)));
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        when(taskRepository.save(any(Task.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void repeatedReadsAndETagChecksAreServedFromCache() {
+        taskService.getTaskView(1L);
+        taskService.getTaskView(1L);
+
+        assertEquals("\"4-0\"", taskService.getTaskETag(1L));
+        verify(taskRepository).findViewById(1L);
+        verify(taskRepository, never()).findVersionById(1L);
+    }
+
+    @Test
+    void updateEvictsTask() {
+        taskService.getTaskView(1L);
+        TaskRq taskRq = new TaskRq();
+        taskRq.setDescription("changed");
+        taskRq.setStatus(Status.IN_PROGRESS);
+        taskRq.setPriority(Priority.LOW);
+
+        taskService.updateTask(1L, taskRq);
+        taskService.getTaskView(1L);
+
+        verify(taskRepository, times(2)).findViewById(1L);
+    }
+
+    @Test
+    void patchEvictsTask() {
+        taskService.getTaskView(1L);
+        TaskPatchRq patchRq = new TaskPatchRq();
+        patchRq.setTitle("Patched");
+
+        taskService.patchTask(1L, 4L, patchRq);
+        taskService.getTaskView(1L);
+
+        verify(taskRepository, times(3)).findViewById(1L);
+    }
+
+    @Test
+    void deleteEvictsTask() {
+        taskService.getTaskView(1L);
+
+        taskService.deleteTask(1L);
+        taskService.getTaskView(1L);
+
+        verify(taskRepository, times(2)).findViewById(1L);
+    }
+
+    @Test
+    void commentCountChangeEvictsTask() {
+        taskService.getTaskView(1L);
+
+        taskService.adjustCommentCount(1L, 1);
+        taskService.getTaskView(1L);
+
+        verify(taskRepository, times(2)).findViewById(1L);
+    }
+
+    @Test
+    void transitionEvictsEveryTask() {
+        taskService.getTaskView(1L);
+        TaskTransitionRq transitionRq = new TaskTransitionRq();
+        transitionRq.setIds(List.of(1L));
+        transitionRq.setStatus(Status.COMPLETED);
+        when(taskRepository.lockIdsByIds(List.of(1L))).thenReturn(List.of(1L));
+
+        taskService.transitionTasks(transitionRq);
+        taskService.getTaskView(1L);
+
+        verify(taskRepository, times(2)).findViewById(1L);
+    }
+}
@@ -1,21 +1,53 @@
 package ru.taskmanagment.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import ru.taskmanagment.entity.Task;
+import ru.taskmanagment.enumClass.Priority;
+import ru.taskmanagment.enumClass.Status;
+import ru.taskmanagment.enumClass.TaskSort;
+import ru.taskmanagment.exception.PreconditionFailedException;
+import ru.taskmanagment.payload.rq.TaskFilterRq;
+import ru.taskmanagment.payload.rq.TaskPatchRq;
 import ru.taskmanagment.payload.rq.TaskRq;
+import ru.taskmanagment.payload.rq.TaskTransitionRq;
+import ru.taskmanagment.payload.rs.CursorPageRs;
+import ru.taskmanagment.payload.rs.TaskEventRs;
 import ru.taskmanagment.payload.rs.TaskRs;
+import ru.taskmanagment.payload.rs.TaskTransitionRs;
+import ru.taskmanagment.payload.rs.TaskViewRs;
 import ru.taskmanagment.repository.TaskRepository;
+import ru.taskmanagment.util.CursorUtil;
+import ru.taskmanagment.validation.ValidationUtil;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class) // Enables Mockito annotations for this test class
@@ -23,6 +55,18 @@ public class TaskServiceTest {
     @Mock
     private TaskRepository taskRepository;
 
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @Mock
+    private ValidationUtil validationUtil;
+
+    @Mock
+    private OutboxService outboxService;
+
+    @Mock
+    private TaskSummaryService taskSummaryService;
+
     @InjectMocks
     private TaskService taskService;
 
@@ -32,27 +76,147 @@ public class TaskServiceTest {
 
 
     @Test
-    void getAllTasks() {
+    void getTaskById() {
         Task task = new Task();
         task.setTitle("Test Task");
-        when(taskRepository.findAll()).thenReturn(Arrays.asList(task));
+        when(taskRepository.findById(anyLong())).thenReturn(Optional.of(task));
 
-        var tasks = taskService.getAllTasks();
+        TaskRs result = taskService.getTaskById(1L);
 
-        assertNotNull(tasks);
-        assertEquals(1, tasks.size());
-        assertEquals(task.getTitle(), tasks.get(0).getTitle());
+        assertNotNull(result);
+        assertEquals(task.getTitle(), result.getTitle());
     }
 
     @Test
-    void getTaskById() {
+    void getTaskPage() {
+        TaskViewRs first = new TaskViewRs();
+        first.setId(1L);
+        TaskViewRs second = new TaskViewRs();
+        second.setId(2L);
+        when(taskRepository.findPage(any(), isNull(), eq(2))).thenReturn(Arrays.asList(first, second));
+
+        CursorPageRs<TaskViewRs> page = taskService.getTaskPage(null, 1, new TaskFilterRq());
+
+        assertEquals(1, page.getItems().size());
+        assertEquals(1L, CursorUtil.decode(page.getNextCursor()));
+    }
+
+    @Test
+    void getTaskPageLast() {
+        TaskViewRs task = new TaskViewRs();
+        task.setId(7L);
+        when(taskRepository.findPage(any(), eq(new CursorUtil.Position(null, 5L)), eq(11))).thenReturn(Arrays.asList(task));
+
+        CursorPageRs<TaskViewRs> page = taskService.getTaskPage(CursorUtil.encode(5L), 10, new TaskFilterRq());
+
+        assertEquals(1, page.getItems().size());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void transitionTasksByIds() {
+        TaskTransitionRq transitionRq = new TaskTransitionRq();
+        transitionRq.setIds(List.of(1L, 2L));
+        transitionRq.setStatus(Status.COMPLETED);
+        when(taskRepository.lockIdsByIds(List.of(1L, 2L))).thenReturn(List.of(1L, 2L));
+        when(taskRepository.transitionByIds(List.of(1L, 2L), Status.COMPLETED, null)).thenReturn(2);
+
+        TaskTransitionRs result = taskService.transitionTasks(transitionRq);
+
+        assertEquals(2, result.getUpdated());
+        verify(taskSummaryService).tasksTransitioned(List.of(), Status.COMPLETED, null, 2);
+        verify(outboxService).append(TaskEventRs.transitioned(null));
+    }
+
+    @Test
+    void transitionTasksByFilterCountsAndUpdatesLockedRows() {
+        TaskTransitionRq transitionRq = new TaskTransitionRq();
+        transitionRq.setUserId(7L);
+        transitionRq.setFromStatus(Status.PENDING);
+        transitionRq.setStatus(Status.IN_PROGRESS);
+        when(taskRepository.lockIdsByFilter(7L, Status.PENDING, null)).thenReturn(List.of(3L, 5L));
+        when(taskRepository.transitionByIds(List.of(3L, 5L), Status.IN_PROGRESS, null)).thenReturn(2);
+
+        TaskTransitionRs result = taskService.transitionTasks(transitionRq);
+
+        assertEquals(2, result.getUpdated());
+        InOrder order = inOrder(taskRepository);
+        order.verify(taskRepository).lockIdsByFilter(7L, Status.PENDING, null);
+        order.verify(taskRepository).countGroupsByIds(List.of(3L, 5L));
+        order.verify(taskRepository).transitionByIds(List.of(3L, 5L), Status.IN_PROGRESS, null);
+    }
+
+    @Test
+    void patchTaskRejectsStaleVersion() {
         Task task = new Task();
-        task.setTitle("Test Task");
-        when(taskRepository.findById(anyLong())).thenReturn(Optional.of(task));
+        task.setId(1L);
+        task.setVersion(3L);
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        TaskPatchRq patchRq = new TaskPatchRq();
+        patchRq.setStatus(Status.COMPLETED);
 
-        TaskRs result = taskService.getTaskById(1L);
+        assertThrows(PreconditionFailedException.class, () -> taskService.patchTask(1L, 2L, patchRq));
+        verify(taskRepository, never()).saveAndFlush(any());
+    }
 
-        assertNotNull(result);
-        assertEquals(task.getTitle(), result.getTitle());
+    @Test
+    void patchTaskMovesSummaryCount() {
+        Task task = new Task();
+        task.setId(1L);
+        task.setUserId(5L);
+        task.setVersion(3L);
+        task.setStatus(Status.PENDING);
+        task.setPriority(Priority.LOW);
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        when(taskRepository.findViewById(1L)).thenReturn(Optional.of(new TaskViewRs()));
+        TaskPatchRq patchRq = new TaskPatchRq();
+        patchRq.setStatus(Status.COMPLETED);
+
+        taskService.patchTask(1L, 3L, patchRq);
+
+        verify(taskSummaryService).taskChanged(Status.PENDING, Priority.LOW, task);
+        assertEquals(Status.COMPLETED, task.getStatus());
+    }
+
+    @Test
+    void getTaskPageSortedByPriority() {
+        TaskViewRs first = new TaskViewRs();
+        first.setId(4L);
+        first.setPriority(Priority.HIGH);
+        TaskViewRs second = new TaskViewRs();
+        second.setId(2L);
+        second.setPriority(Priority.LOW);
+        TaskFilterRq filter = new TaskFilterRq();
+        filter.setSort(TaskSort.PRIORITY);
+        when(taskRepository.findPage(eq(filter), isNull(), eq(2))).thenReturn(Arrays.asList(first, second));
+
+        CursorPageRs<TaskViewRs> page = taskService.getTaskPage(null, 1, filter);
+
+        assertEquals(new CursorUtil.Position("HIGH", 4L), CursorUtil.decodePosition(page.getNextCursor()));
+    }
+
+    @Test
+    void exportTasksWritesOneLinePerTaskAsRowsArrive() throws IOException {
+        TaskViewRs first = new TaskViewRs(1L, "First", 7L, "description", Status.PENDING, Priority.HIGH, 0L, 2L);
+        TaskViewRs second = new TaskViewRs(2L, "Second", 7L, "description", Status.COMPLETED, Priority.LOW, 3L, 0L);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        List<String> writtenBeforeSecondRow = new ArrayList<>();
+        AtomicBoolean closed = new AtomicBoolean();
+        when(taskRepository.streamAll()).thenReturn(Stream.of(first, second)
+                .peek(row -> {
+                    if (row == second) {
+                        writtenBeforeSecondRow.add(out.toString(StandardCharsets.UTF_8));
+                    }
+                })
+                .onClose(() -> closed.set(true)));
+
+        taskService.exportTasks(out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertEquals(first, objectMapper.readValue(lines[0], TaskViewRs.class));
+        assertEquals(second, objectMapper.readValue(lines[1], TaskViewRs.class));
+        assertEquals(List.of(lines[0] + "\n"), writtenBeforeSecondRow);
+        assertTrue(closed.get());
     }
 }
@@ -0,0 +1,149 @@
+package ru.taskmanagment.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.taskmanagment.entity.TaskSummary;
+import ru.taskmanagment.enumClass.Priority;
+import ru.taskmanagment.enumClass.Status;
+import ru.taskmanagment.payload.rs.TaskSummaryRs;
+import ru.taskmanagment.repository.TaskRepository;
+import ru.taskmanagment.repository.TaskSummaryRepository;
+import ru.taskmanagment.repository.UserRepository;
+import ru.taskmanagment.util.Constant;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class TaskSummaryServiceTest {
+    @Mock
+    private TaskSummaryRepository taskSummaryRepository;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private JobLockService jobLockService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private TaskSummaryService taskSummaryService;
+
+    @Test
+    void getSummaryFillsMissingCells() {
+        TaskSummary summary = new TaskSummary();
+        summary.setUserId(1L);
+        summary.setStatus(Status.PENDING);
+        summary.setPriority(Priority.HIGH);
+        summary.setTaskCount(4);
+        when(taskSummaryRepository.findByUserId(1L)).thenReturn(List.of(summary));
+
+        TaskSummaryRs result = taskSummaryService.getSummary(1L);
+
+        assertEquals(4, result.getTotal());
+        assertEquals(4L, result.getCounts().get(Status.PENDING).get(Priority.HIGH));
+        assertEquals(0L, result.getCounts().get(Status.COMPLETED).get(Priority.LOW));
+    }
+
+    @Test
+    void tasksTransitionedMovesEachGroup() {
+        List<TaskRepository.SummaryGroup> groups = List.of(
+                group(1L, Status.PENDING, Priority.LOW, 2L),
+                group(1L, Status.COMPLETED, Priority.LOW, 1L),
+                group(null, Status.PENDING, Priority.LOW, 5L));
+
+        taskSummaryService.tasksTransitioned(groups, Status.COMPLETED, null, 8);
+
+        InOrder order = inOrder(taskSummaryRepository);
+        order.verify(taskSummaryRepository).adjust(new TaskSummary.Key(1L, Status.PENDING, Priority.LOW), -2L);
+        order.verify(taskSummaryRepository).adjust(new TaskSummary.Key(1L, Status.COMPLETED, Priority.LOW), 2L);
+        verify(taskSummaryRepository, never()).adjust(new TaskSummary.Key(null, Status.PENDING, Priority.LOW), -5L);
+    }
+
+    @Test
+    void tasksTransitionedSkipsUnchangedGroups() {
+        taskSummaryService.tasksTransitioned(List.of(group(1L, Status.COMPLETED, Priority.LOW, 3L)),
+                Status.COMPLETED, null, 3);
+
+        verify(taskSummaryRepository, never()).adjust(any(), anyLong());
+    }
+
+    @Test
+    void rebuildRecountsEachBatchOfUsersAndReleasesLock() {
+        ReflectionTestUtils.setField(taskSummaryService, "rebuildLease", Duration.ofHours(1));
+        when(jobLockService.tryAcquire("task-summary-rebuild", Duration.ofHours(1))).thenReturn(true);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation -> {
+            TransactionCallback<?> callback = invocation.getArgument(0);
+            return callback.doInTransaction(null);
+        });
+        when(userRepository.findIdsAfter(0L, Limit.of(Constant.BULK_CHUNK_SIZE))).thenReturn(List.of(1L, 2L));
+        when(taskRepository.countGroupsByUserIds(List.of(1L, 2L))).thenReturn(List.of(
+                group(2L, Status.PENDING, Priority.LOW, 1L),
+                group(1L, Status.COMPLETED, Priority.HIGH, 3L)));
+
+        assertEquals(2, taskSummaryService.rebuild());
+
+        InOrder order = inOrder(taskSummaryRepository, jobLockService);
+        order.verify(taskSummaryRepository).deleteByUserIds(List.of(1L, 2L));
+        order.verify(taskSummaryRepository).adjust(new TaskSummary.Key(1L, Status.COMPLETED, Priority.HIGH), 3L);
+        order.verify(taskSummaryRepository).adjust(new TaskSummary.Key(2L, Status.PENDING, Priority.LOW), 1L);
+        order.verify(jobLockService).release("task-summary-rebuild");
+    }
+
+    @Test
+    void rebuildIsSkippedWhileAnotherInstanceHoldsLock() {
+        when(jobLockService.tryAcquire(eq("task-summary-rebuild"), any())).thenReturn(false);
+
+        assertEquals(0, taskSummaryService.rebuild());
+
+        verifyNoInteractions(userRepository, taskSummaryRepository, transactionTemplate);
+        verify(jobLockService, never()).release(any());
+    }
+
+    private static TaskRepository.SummaryGroup group(Long userId, Status status, Priority priority, Long taskCount) {
+        return new TaskRepository.SummaryGroup() {
+            @Override
+            public Long getUserId() {
+                return userId;
+            }
+
+            @Override
+            public Status getStatus() {
+                return status;
+            }
+
+            @Override
+            public Priority getPriority() {
+                return priority;
+            }
+
+            @Override
+            public Long getTaskCount() {
+                return taskCount;
+            }
+        };
+    }
+}
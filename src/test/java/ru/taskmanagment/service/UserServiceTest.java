@@ -4,20 +4,31 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import ru.taskmanagment.config.jwt.JwtTokenUtil;
 import ru.taskmanagment.entity.User;
 import ru.taskmanagment.payload.main.WebRs;
+import ru.taskmanagment.payload.rq.LoginRq;
+import ru.taskmanagment.payload.rs.UserAuth;
 import ru.taskmanagment.payload.rs.UserRs;
 import ru.taskmanagment.repository.UserRepository;
 
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class UserServiceTest {
     @Mock
     private UserRepository userRepository;
+    @Mock
+    private PasswordEncoder passwordEncoder;
+    @Mock
+    private JwtTokenUtil jwtTokenUtil;
     @InjectMocks
     private UserService userService;
 
@@ -30,4 +41,43 @@ public class UserServiceTest {
         assertEquals("John Doe", result.getName());
         verify(userRepository).findById(1L);
     }
+
+    @Test
+    void loginLooksUpAndVerifiesOnce() {
+        MockitoAnnotations.openMocks(this);
+        User user = new User("john", "john@example.com", "hash");
+        user.setId(1L);
+        when(userRepository.findWithRolesByEmail("john@example.com")).thenReturn(Optional.of(user));
+        when(passwordEncoder.matches("secret", "hash")).thenReturn(true);
+        when(jwtTokenUtil.generateAccessToken(any(UserAuth.class))).thenReturn("token");
+
+        LoginRq loginRq = new LoginRq();
+        loginRq.setEmail("john@example.com");
+        loginRq.setPassword("secret");
+        userService.login(loginRq);
+
+        verify(userRepository).findWithRolesByEmail("john@example.com");
+        verify(userRepository, never()).findByEmail(any());
+        verify(passwordEncoder, times(1)).matches("secret", "hash");
+    }
+
+    @Test
+    void loginRehashesOutdatedPassword() {
+        MockitoAnnotations.openMocks(this);
+        User user = new User("john", "john@example.com", "legacy");
+        user.setId(1L);
+        when(userRepository.findWithRolesByEmail("john@example.com")).thenReturn(Optional.of(user));
+        when(passwordEncoder.matches("secret", "legacy")).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding("legacy")).thenReturn(true);
+        when(passwordEncoder.encode("secret")).thenReturn("{bcrypt}upgraded");
+        when(userRepository.replacePassword(1L, "legacy", "{bcrypt}upgraded")).thenReturn(1);
+
+        LoginRq loginRq = new LoginRq();
+        loginRq.setEmail("john@example.com");
+        loginRq.setPassword("secret");
+        userService.login(loginRq);
+
+        verify(userRepository).replacePassword(1L, "legacy", "{bcrypt}upgraded");
+        assertEquals("{bcrypt}upgraded", user.getPassword());
+    }
 }